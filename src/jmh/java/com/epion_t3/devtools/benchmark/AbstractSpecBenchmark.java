@@ -0,0 +1,98 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.benchmark;
+
+import com.epion_t3.devtools.SyntheticSpecFactory;
+import com.epion_t3.devtools.bean.DevGeneratorContext;
+import com.epion_t3.devtools.bean.ExecuteOptions;
+import com.epion_t3.devtools.component.SpecParseComponent;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 合成設計ファイルを利用するベンチマークの基底クラス.
+ * <p>
+ * Locale数はベンチマーク毎に対応範囲が異なるため、サブクラスで{@code locales}として定義する.
+ *
+ * @author takashno
+ */
+@State(Scope.Benchmark)
+public abstract class AbstractSpecBenchmark {
+
+    /**
+     * エンティティ数（コマンド数。メッセージはこの4倍、Flow・設定は1/4）.
+     */
+    @Param({ "10", "100", "1000" })
+    public int entities;
+
+    /**
+     * 構成の階層数.
+     */
+    @Param({ "1", "4" })
+    public int depth;
+
+    /**
+     * 作業ディレクトリ.
+     */
+    protected Path workDir;
+
+    /**
+     * 実行オプション.
+     */
+    protected ExecuteOptions executeOptions;
+
+    /**
+     * Locale数を取得.
+     *
+     * @return Locale数
+     */
+    protected abstract int getLocales();
+
+    /**
+     * 合成設計ファイルと出力先を準備.
+     *
+     * @throws IOException I/O例外
+     */
+    @Setup(Level.Trial)
+    public void setUpSpec() throws IOException {
+        workDir = Files.createTempDirectory("et3-devtools-bench");
+        Path specFile = SyntheticSpecFactory.write(workDir.resolve("spec.yaml"), entities, depth, getLocales());
+        Path outputDir = Files.createDirectories(workDir.resolve("out"));
+        executeOptions = new ExecuteOptions();
+        executeOptions.setTarget(specFile.toString());
+        executeOptions.setMessageOutput(outputDir.toString());
+        executeOptions.setJavaOutput(outputDir.toString() + "/");
+        executeOptions.setDocOutput(outputDir.toString());
+    }
+
+    /**
+     * 作業ディレクトリを削除.
+     *
+     * @throws IOException I/O例外
+     */
+    @TearDown(Level.Trial)
+    public void tearDownSpec() throws IOException {
+        FileUtils.deleteDirectory(workDir.toFile());
+    }
+
+    /**
+     * 設計解析済のコンテキストを作成.
+     *
+     * @return コンテキスト
+     */
+    protected DevGeneratorContext parse() {
+        DevGeneratorContext context = new DevGeneratorContext();
+        context.setExecuteOptions(executeOptions);
+        SpecParseComponent.getInstance().execute(context);
+        return context;
+    }
+
+}
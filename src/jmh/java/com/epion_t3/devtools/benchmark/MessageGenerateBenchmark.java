@@ -0,0 +1,59 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.benchmark;
+
+import com.epion_t3.devtools.bean.DevGeneratorContext;
+import com.epion_t3.devtools.component.MessageGenerateComponent;
+import com.epion_t3.devtools.component.OutputWriteComponent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MessageGenerateComponent.executeのベンチマーク.
+ *
+ * @author takashno
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageGenerateBenchmark extends AbstractSpecBenchmark {
+
+    /**
+     * Locale数.
+     */
+    @Param({ "1", "4", "10" })
+    public int locales;
+
+    /**
+     * 設計解析済のコンテキスト.
+     */
+    private DevGeneratorContext context;
+
+    @Override
+    protected int getLocales() {
+        return locales;
+    }
+
+    @Setup(Level.Trial)
+    public void setUpContext() {
+        context = parse();
+    }
+
+    @Benchmark
+    public void generateMessages() {
+        MessageGenerateComponent.getInstance().execute(context);
+        OutputWriteComponent.getInstance().execute(context);
+    }
+
+}
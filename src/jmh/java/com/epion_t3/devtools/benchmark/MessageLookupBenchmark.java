@@ -0,0 +1,176 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.benchmark;
+
+import com.epion_t3.core.message.Messages;
+import com.epion_t3.devtools.SyntheticSpecFactory;
+import com.epion_t3.devtools.bean.DevGeneratorContext;
+import com.epion_t3.devtools.bean.ExecuteOptions;
+import com.epion_t3.devtools.component.MessageGenerateComponent;
+import com.epion_t3.devtools.component.OutputWriteComponent;
+import com.epion_t3.devtools.component.SpecParseComponent;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * メッセージコードから列挙子を取得する処理のベンチマーク.
+ * <p>
+ * 生成したMessages.javaと索引クラスをコンパイル・ロードし、values()の線形探索と索引クラスの取得を比較する.
+ *
+ * @author takashno
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageLookupBenchmark {
+
+    /**
+     * メッセージ数.
+     */
+    @Param({ "10000" })
+    public int keys;
+
+    /**
+     * 作業ディレクトリ.
+     */
+    private Path workDir;
+
+    /**
+     * 全ての列挙子（分割したEnumの順）.
+     */
+    private Messages[] values;
+
+    /**
+     * 検索するメッセージコード.
+     */
+    private String[] codes;
+
+    /**
+     * 索引クラスのofメソッド.
+     */
+    private MethodHandle lookup;
+
+    /**
+     * 次に検索するメッセージコードの位置.
+     */
+    private int next;
+
+    /**
+     * Messages.javaを生成・コンパイルしてロード.
+     *
+     * @throws Exception 例外
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        workDir = Files.createTempDirectory("et3-devtools-bench");
+        Path specFile = SyntheticSpecFactory.write(workDir.resolve("spec.yaml"), keys / 4, 1, 1);
+        Path sourceDir = Files.createDirectories(workDir.resolve("src"));
+        Path classDir = Files.createDirectories(workDir.resolve("classes"));
+
+        ExecuteOptions executeOptions = new ExecuteOptions();
+        executeOptions.setTarget(specFile.toString());
+        executeOptions.setMessageOutput(workDir.toString());
+        executeOptions.setJavaOutput(sourceDir.toString() + "/");
+        DevGeneratorContext context = new DevGeneratorContext();
+        context.setExecuteOptions(executeOptions);
+        SpecParseComponent.getInstance().execute(context);
+        MessageGenerateComponent.getInstance().execute(context);
+        OutputWriteComponent.getInstance().execute(context);
+
+        // 生成したソースをコンパイル
+        List<String> args = new ArrayList<>(
+                Arrays.asList("-nowarn", "-cp", System.getProperty("java.class.path"), "-d", classDir.toString()));
+        try (Stream<Path> stream = Files.walk(sourceDir)) {
+            args.addAll(stream.filter(x -> x.toString().endsWith(".java"))
+                    .map(Path::toString)
+                    .collect(Collectors.toList()));
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler.run(null, null, null, args.toArray(new String[0])) != 0) {
+            throw new IllegalStateException("fail compile generated messages.");
+        }
+
+        // ロードして列挙子と索引クラスを取得
+        ClassLoader classLoader = new URLClassLoader(new URL[] { classDir.toUri().toURL() },
+                getClass().getClassLoader());
+        MessageGenerateComponent component = MessageGenerateComponent.getInstance();
+        List<Messages> all = new ArrayList<>();
+        for (String className : component.getEnumClassNames(context)) {
+            all.addAll(Arrays.asList((Messages[]) classLoader.loadClass(className).getEnumConstants()));
+        }
+        values = all.toArray(new Messages[0]);
+        codes = Arrays.stream(values).map(Messages::getMessageCode).toArray(String[]::new);
+        lookup = MethodHandles.publicLookup()
+                .findStatic(classLoader.loadClass(component.getLookupClassName(context)), "of",
+                        MethodType.methodType(Messages.class, String.class));
+    }
+
+    /**
+     * 作業ディレクトリを削除.
+     *
+     * @throws IOException I/O例外
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(workDir.toFile());
+    }
+
+    /**
+     * 次に検索するメッセージコードを取得（全てのコードを順に検索する）.
+     *
+     * @return メッセージコード
+     */
+    private String nextCode() {
+        String code = codes[next];
+        next = next + 1 == codes.length ? 0 : next + 1;
+        return code;
+    }
+
+    @Benchmark
+    public Messages linearScan() {
+        String code = nextCode();
+        for (Messages value : values) {
+            if (value.getMessageCode().equals(code)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Messages lookup() throws Throwable {
+        return (Messages) lookup.invokeExact(nextCode());
+    }
+
+}
@@ -0,0 +1,51 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.benchmark;
+
+import com.epion_t3.devtools.bean.DevGeneratorContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SpecParseComponent.executeのベンチマーク.
+ *
+ * @author takashno
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpecParseBenchmark extends AbstractSpecBenchmark {
+
+    /**
+     * Locale数.
+     */
+    @Param({ "1", "4", "10" })
+    public int locales;
+
+    /**
+     * ストリーミング解析するか.
+     */
+    @Param({ "false", "true" })
+    public boolean streaming;
+
+    @Override
+    protected int getLocales() {
+        return locales;
+    }
+
+    @Benchmark
+    public DevGeneratorContext parseSpec() {
+        executeOptions.setStreamingParse(streaming);
+        return parse();
+    }
+
+}
@@ -0,0 +1,78 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * コンパイル時にメッセージ定義を生成する設計ファイルを指定する.
+ * <p>
+ * package-info.javaに付与すると、MessageSpecProcessorが設計ファイルからMessages.java（Enum）を
+ * ソースとして、messages.propertiesをクラス出力のリソースとして生成する.
+ *
+ * <pre>
+ * &#64;MessageSpec("src/main/resources/basic_spec.yaml")
+ * package com.epion_t3.basic;
+ * </pre>
+ *
+ * 設計ファイルはコンパイラの入力として追跡されないため、設計ファイルの変更時に再生成させるには
+ * ビルドツール側でコンパイルタスクの入力に設計ファイルを追加すること. Gradleの場合は以下のように指定する.
+ *
+ * <pre>
+ * compileJava {
+ *     inputs.file('src/main/resources/basic_spec.yaml')
+ *     options.compilerArgs += ['-Aet3.devtools.specDir=' + projectDir]
+ * }
+ * </pre>
+ *
+ * プロセッサはGradleのインクリメンタルコンパイルに集約型（aggregating）として登録している.
+ * 追加した入力が変更された場合はコンパイルタスク全体が再実行され、全ての生成物が作り直される.
+ * 入力を追加しない場合、設計ファイルのみの変更ではコンパイルタスクが最新と判定され再生成されない.
+ *
+ * @author takashno
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.PACKAGE)
+public @interface MessageSpec {
+
+    /**
+     * 設計ファイルのパス.
+     * <p>
+     * 相対パスの場合は、プロセッサオプション「et3.devtools.specDir」（未指定の場合は作業ディレクトリ）を基準とする.
+     *
+     * @return 設計ファイルのパス
+     */
+    String value();
+
+    /**
+     * Messages.javaのJavaDocに利用する主Locale（未指定の場合は設計ファイルの先頭のLocale）.
+     *
+     * @return 主Locale
+     */
+    String primaryLocale() default "";
+
+    /**
+     * Messages.javaを分割するメッセージ数（これを超える場合は複数のEnumへ分割する）.
+     * <p>
+     * 分割した先頭のEnumは「Messages」、以降は「Messages2」からの連番のクラス名となる. 列挙子の分割先はメッセージキーから
+     * 決まり、分割数が変わらない限りメッセージの追加・削除で移動しない. 分割に依存せずに列挙子を取得する場合は
+     * 「MessagesLookup」を利用する.
+     *
+     * @return 分割単位
+     */
+    int enumShardSize() default 2000;
+
+    /**
+     * messages.propertiesに加えてコンパイル済リソースバンドル（ListResourceBundle）を生成するか.
+     * <p>
+     * Messages.javaと同じパッケージに生成し、基底名は「&lt;パッケージ&gt;.&lt;Enumのクラス名&gt;Bundle」となる.
+     *
+     * @return 生成する場合はtrue
+     */
+    boolean resourceBundle() default false;
+
+}
@@ -2,13 +2,17 @@
 package com.epion_t3.devtools.app;
 
 import com.epion_t3.core.common.type.ExitCode;
-import com.epion_t3.devtools.bean.DevGeneratorContext;
 import com.epion_t3.devtools.bean.ExecuteOptions;
-import com.epion_t3.devtools.component.DocumentGenerateComponent;
-import com.epion_t3.devtools.component.MessageGenerateComponent;
-import com.epion_t3.devtools.component.SpecParseComponent;
+import com.epion_t3.devtools.bean.GenerateResult;
+import com.epion_t3.devtools.util.MetricsUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.cli.*;
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * 開発ツール・自動生成
@@ -24,10 +28,30 @@ public class Application {
     private static final Options OPTIONS = new Options();
 
     static {
-        OPTIONS.addRequiredOption("t", "target", true, "target spec file.");
+        OptionGroup targetGroup = new OptionGroup();
+        targetGroup.addOption(new Option("t", "target", true, "target spec file."));
+        targetGroup.addOption(
+                new Option("b", "batch", true, "target spec files. (directory, glob or list file of spec paths)"));
+        targetGroup.setRequired(true);
+        OPTIONS.addOptionGroup(targetGroup);
         OPTIONS.addOption("m", "message-output", true, "messages.properties generate place.");
         OPTIONS.addOption("j", "java-output", true, "enum java generate place.");
         OPTIONS.addOption("d", "doc-output", true, "document markdown generate place.");
+        OPTIONS.addOption(null, "template-dir", true, "user template place. (function-<locale>.mustache)");
+        OPTIONS.addOption(null, "primary-locale", true, "locale used for Messages.java javadoc.");
+        OPTIONS.addOption(null, "streaming-parse", false, "parse spec file by streaming. (for very large spec)");
+        OPTIONS.addOption(null, "parallel-parse", false, "parse spec sections in parallel.");
+        OPTIONS.addOption(null, "enum-shard-size", true, "max message count per Messages.java. (default: 2000)");
+        OPTIONS.addOption(null, "resource-bundle", false, "generate compiled ListResourceBundle classes.");
+        OPTIONS.addOption(null, "entity-docs", false, "generate documents per flow/command/configuration.");
+        OPTIONS.addOption("p", "parallelism", true, "number of worker threads in batch mode.");
+        OPTIONS.addOption(null, "locale-parallelism", true, "number of threads for per-locale output.");
+        OPTIONS.addOption("w", "watch", false, "watch spec files and regenerate on change.");
+        OPTIONS.addOption(null, "debounce", true, "milliseconds to wait for further changes in watch mode.");
+        OPTIONS.addOption(null, "metrics", true,
+                "write per-phase metrics report (json) to this file. (cpu/allocation are summed across threads)");
+        OPTIONS.addOption("f", "force", false, "ignore generate cache and always generate.");
+        OPTIONS.addOption(null, "cache-dir", true, "generate cache manifest place. (default: output place)");
     }
 
     /**
@@ -54,29 +78,74 @@ public class Application {
         executeOptions.setMessageOutput(cmd.getOptionValue("m"));
         executeOptions.setJavaOutput(cmd.getOptionValue("j"));
         executeOptions.setDocOutput(cmd.getOptionValue("d"));
+        executeOptions.setBatch(cmd.getOptionValue("b"));
+        executeOptions.setTemplateDir(cmd.getOptionValue("template-dir"));
+        executeOptions.setPrimaryLocale(cmd.getOptionValue("primary-locale"));
+        executeOptions.setStreamingParse(cmd.hasOption("streaming-parse"));
+        executeOptions.setParallelParse(cmd.hasOption("parallel-parse"));
+        executeOptions.setResourceBundle(cmd.hasOption("resource-bundle"));
+        executeOptions.setEntityDocuments(cmd.hasOption("entity-docs"));
+        executeOptions.setMetricsOutput(cmd.getOptionValue("metrics"));
+        executeOptions.setWatch(cmd.hasOption("w"));
+        executeOptions.setForce(cmd.hasOption("f"));
+        executeOptions.setCacheDir(cmd.getOptionValue("cache-dir"));
+        if (cmd.hasOption("p")) {
+            executeOptions.setParallelism(Integer.parseInt(cmd.getOptionValue("p")));
+        }
+        if (cmd.hasOption("enum-shard-size")) {
+            executeOptions.setEnumShardSize(Integer.parseInt(cmd.getOptionValue("enum-shard-size")));
+        }
+        if (cmd.hasOption("locale-parallelism")) {
+            executeOptions.setLocaleParallelism(Integer.parseInt(cmd.getOptionValue("locale-parallelism")));
+        }
+        if (cmd.hasOption("debounce")) {
+            executeOptions.setDebounceMillis(Long.parseLong(cmd.getOptionValue("debounce")));
+        }
 
-        DevGeneratorContext context = new DevGeneratorContext();
-        context.setExecuteOptions(executeOptions);
-
-        // 設計解析
-        SpecParseComponent.getInstance().execute(context);
+        // 監視実行
+        if (executeOptions.isWatch()) {
+            SpecWatcher.getInstance().watch(executeOptions);
+            System.exit(ExitCode.NORMAL.getExitCode());
+        }
 
-        // messages.properties、Messages.javaの出力
-        if (cmd.hasOption("m") && cmd.hasOption("j")) {
-            MessageGenerateComponent.getInstance().execute(context);
-        } else {
-            log.info("Skip Generate messages.properties and Messages.java");
+        // バッチ実行
+        if (cmd.hasOption("b")) {
+            List<GenerateResult> results = DevGeneratorEngine.getInstance().generateAll(executeOptions);
+            long errorCount = results.stream().filter(x -> !x.isSuccess()).count();
+            results.forEach(x -> log.info("{} : {} ({}ms)",
+                    x.isSuccess() ? (x.isSkipped() ? "UP-TO-DATE" : "SUCCESS") : "ERROR", x.getTarget(),
+                    x.getElapsedMillis()));
+            if (StringUtils.isNotEmpty(executeOptions.getMetricsOutput())) {
+                MetricsUtils.writeReport(Paths.get(executeOptions.getMetricsOutput()),
+                        results.stream()
+                                .map(GenerateResult::getMetrics)
+                                .filter(Objects::nonNull)
+                                .collect(Collectors.toList()));
+            }
+            log.info("Batch Generate Finished. total:{}, error:{}, written files:{}, unchanged files:{}",
+                    results.size(), errorCount, results.stream().mapToInt(GenerateResult::getWrittenCount).sum(),
+                    results.stream().mapToInt(GenerateResult::getUnchangedCount).sum());
+            System.exit(getExitCode(results));
         }
 
-        // ドキュメントの出力
-        if (cmd.hasOption("d")) {
-            DocumentGenerateComponent.getInstance().execute(context);
-        } else {
-            log.info("Skip Generate Documents.");
+        GenerateResult result = DevGeneratorEngine.getInstance().generate(executeOptions);
+        if (result.getMetrics() != null) {
+            MetricsUtils.writeReport(Paths.get(executeOptions.getMetricsOutput()), List.of(result.getMetrics()));
         }
 
-        System.exit(ExitCode.NORMAL.getExitCode());
+        System.exit(getExitCode(List.of(result)));
+
+    }
 
+    /**
+     * 生成結果から終了コードを取得.
+     *
+     * @param results 設計ファイル毎の生成結果
+     * @return 全て成功した場合は正常終了、1つでも失敗した場合はエラーの終了コード
+     */
+    static int getExitCode(List<GenerateResult> results) {
+        return results.stream().allMatch(GenerateResult::isSuccess) ? ExitCode.NORMAL.getExitCode()
+                : ExitCode.ERROR.getExitCode();
     }
 
 }
@@ -0,0 +1,137 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.app;
+
+import com.epion_t3.devtools.bean.ExecuteOptions;
+import com.epion_t3.devtools.bean.GenerateResult;
+import com.epion_t3.devtools.exception.GeneratorException;
+import com.epion_t3.devtools.util.SpecFileUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.SerializationUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 複数の設計ファイルを1つのJVM内で並列に生成するバッチ処理.
+ *
+ * @author takashno
+ */
+@Slf4j
+public final class BatchGenerator {
+
+    /**
+     * シングルトンインスタンス.
+     */
+    private static final BatchGenerator instance = new BatchGenerator();
+
+    /**
+     * プライベートコンストラクタ.
+     */
+    private BatchGenerator() {
+        // Do Nothing...
+    }
+
+    /**
+     * シングルトンインスタンスを取得.
+     *
+     * @return シングルトンインスタンス
+     */
+    public static BatchGenerator getInstance() {
+        return instance;
+    }
+
+    /**
+     * バッチ生成を実行.
+     * <p>
+     * 設計ファイル毎にコンテキストを分離し、1つの設計ファイルのエラーが他へ波及しないよう結果を個別に返却する.
+     *
+     * @param executeOptions 実行オプション（batchに対象を指定）
+     * @return 設計ファイル毎の生成結果
+     */
+    public List<GenerateResult> execute(ExecuteOptions executeOptions) {
+
+        List<Path> specFiles = SpecFileUtils.resolve(executeOptions.getBatch());
+        if (specFiles.isEmpty()) {
+            log.warn("No spec file found. batch:{}", executeOptions.getBatch());
+            return new ArrayList<>();
+        }
+
+        int parallelism = Math.max(1, Math.min(executeOptions.getParallelism(), specFiles.size()));
+        log.info("Start batch generate. specs:{}, parallelism:{}", specFiles.size(), parallelism);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "et3-devtools-batch-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        // Locale毎の処理のExecutorは全ての設計ファイルで共有する
+        ExecutorService localeExecutor = DevGeneratorEngine.getInstance().createLocaleExecutor(executeOptions);
+
+        try {
+            List<Future<GenerateResult>> futures = new ArrayList<>();
+            for (Path specFile : specFiles) {
+                futures.add(executorService.submit(createTask(executeOptions, specFile, localeExecutor)));
+            }
+            List<GenerateResult> results = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(getResult(futures.get(i), specFiles.get(i)));
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GeneratorException("batch generate interrupted.", e);
+        } finally {
+            executorService.shutdownNow();
+            DevGeneratorEngine.getInstance().shutdownLocaleExecutor(localeExecutor);
+        }
+    }
+
+    /**
+     * 設計ファイル1つ分の生成結果を取得.
+     * <p>
+     * 生成タスクがErrorなどで異常終了した場合も、その設計ファイルのみ失敗とした結果を返却する.
+     *
+     * @param future 生成タスク
+     * @param specFile 設計ファイル
+     * @return 生成結果
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    GenerateResult getResult(Future<GenerateResult> future, Path specFile) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            log.error("Fail generate. spec:{}", specFile, e.getCause());
+            GenerateResult result = new GenerateResult();
+            result.setTarget(specFile.toString());
+            result.setSuccess(false);
+            result.setError(e.getCause());
+            return result;
+        }
+    }
+
+    /**
+     * 設計ファイル1つ分の生成タスクを作成.
+     *
+     * @param executeOptions 実行オプション
+     * @param specFile 設計ファイル
+     * @param localeExecutor Locale毎の処理のExecutor（逐次実行する場合はnull）
+     * @return 生成タスク
+     */
+    private Callable<GenerateResult> createTask(ExecuteOptions executeOptions, Path specFile,
+            ExecutorService localeExecutor) {
+        ExecuteOptions specOptions = SerializationUtils.clone(executeOptions);
+        specOptions.setTarget(specFile.toString());
+        specOptions.setBatch(null);
+        return () -> DevGeneratorEngine.getInstance().generate(specOptions, localeExecutor);
+    }
+
+}
@@ -0,0 +1,321 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.app;
+
+import com.epion_t3.devtools.bean.DevGeneratorContext;
+import com.epion_t3.devtools.bean.ExecuteOptions;
+import com.epion_t3.devtools.bean.GenerateResult;
+import com.epion_t3.devtools.bean.SpecMetrics;
+import com.epion_t3.devtools.component.DocumentGenerateComponent;
+import com.epion_t3.devtools.component.GenerateCacheComponent;
+import com.epion_t3.devtools.component.MessageGenerateComponent;
+import com.epion_t3.devtools.component.OutputWriteComponent;
+import com.epion_t3.devtools.component.SpecParseComponent;
+import com.epion_t3.devtools.exception.GeneratorException;
+import com.epion_t3.devtools.util.MetricsUtils;
+import com.epion_t3.devtools.util.MetricsUtils.Measurement;
+import com.epion_t3.devtools.util.SectionFingerprintUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ビルドツール等から同一JVM内で呼び出すための生成エンジン.
+ * <p>
+ * 呼び出し毎に実行オプションを複製してコンテキストを分離するため、1つのインスタンスを複数スレッドから繰り返し利用できる.
+ * 設計ファイルのReaderやコンパイル済テンプレートは呼び出し間で共有されるため、常駐プロセスでは2回目以降の生成が速くなる.
+ * エラーは生成結果として返却し、JVMを終了することは無い.
+ *
+ * @author takashno
+ */
+@Slf4j
+public final class DevGeneratorEngine {
+
+    /**
+     * ストリームから読み込んだ設計ファイルの一時ファイルを作成できなかった場合の生成結果の対象.
+     */
+    static final String STREAM_TARGET = "(stream)";
+
+    /**
+     * シングルトンインスタンス.
+     */
+    private static final DevGeneratorEngine instance = new DevGeneratorEngine();
+
+    /**
+     * プライベートコンストラクタ.
+     */
+    private DevGeneratorEngine() {
+        // Do Nothing...
+    }
+
+    /**
+     * シングルトンインスタンスを取得.
+     *
+     * @return シングルトンインスタンス
+     */
+    public static DevGeneratorEngine getInstance() {
+        return instance;
+    }
+
+    /**
+     * 設計ファイル1つ分を生成.
+     * <p>
+     * Locale並列数が2以上の場合、この生成の間だけLocale毎の処理のExecutorを作成する.
+     * 生成中に発生した例外は、実行時例外以外（Error、検査例外）も含めて失敗した生成結果として返却し、呼び出し元へは送出しない.
+     *
+     * @param executeOptions 実行オプション（targetに設計ファイルを指定）
+     * @return 生成結果
+     */
+    public GenerateResult generate(ExecuteOptions executeOptions) {
+        ExecutorService localeExecutor = createLocaleExecutor(executeOptions);
+        try {
+            return generate(executeOptions, localeExecutor);
+        } finally {
+            shutdownLocaleExecutor(localeExecutor);
+        }
+    }
+
+    /**
+     * Locale毎の処理のExecutorを指定して設計ファイル1つ分を生成.
+     * <p>
+     * バッチ・監視では複数の設計ファイルで1つのExecutorを共有する.
+     *
+     * @param executeOptions 実行オプション（targetに設計ファイルを指定）
+     * @param localeExecutor Locale毎の処理のExecutor（逐次実行する場合はnull）
+     * @return 生成結果
+     */
+    GenerateResult generate(ExecuteOptions executeOptions, ExecutorService localeExecutor) {
+        ExecuteOptions specOptions = SerializationUtils.clone(executeOptions);
+        GenerateResult result = new GenerateResult();
+        result.setTarget(specOptions.getTarget());
+        long start = System.nanoTime();
+        try {
+            if (StringUtils.isEmpty(specOptions.getTarget())) {
+                throw new GeneratorException("target spec file is not specified.");
+            }
+            DevGeneratorContext context = execute(specOptions, localeExecutor);
+            result.setSkipped(context.isSkipped());
+            result.setWrittenCount(context.getWrittenCount().get());
+            result.setUnchangedCount(context.getUnchangedCount().get());
+            result.getOutputFiles().addAll(context.getOutputFiles());
+            result.setMetrics(context.getMetrics());
+            result.setSuccess(true);
+        } catch (Throwable e) {
+            // バッチ生成（BatchGenerator#getResult）と同様に、Errorや検査例外も設計ファイルの失敗として扱う
+            log.error("Fail generate. spec:{}", specOptions.getTarget(), e);
+            result.setSuccess(false);
+            result.setError(e);
+            if (StringUtils.isNotEmpty(specOptions.getMetricsOutput())) {
+                SpecMetrics metrics = new SpecMetrics();
+                metrics.setTarget(specOptions.getTarget());
+                metrics.setWallNanos(System.nanoTime() - start);
+                result.setMetrics(metrics);
+            }
+        } finally {
+            result.setElapsedMillis((System.nanoTime() - start) / 1_000_000L);
+        }
+        return result;
+    }
+
+    /**
+     * ストリームから読み込んだ設計ファイルを生成.
+     * <p>
+     * 内容を一時ファイルへ書き出して生成し、生成後に一時ファイルを削除する.
+     * 一時ファイルのパスは呼び出し毎に異なるため、生成キャッシュは利用しない.
+     * 一時ファイルへの書き出しに失敗した場合も、生成結果の対象には一時ファイルのパス
+     * （一時ファイルを作成できなかった場合は{@value #STREAM_TARGET}）を設定する.
+     *
+     * @param spec 設計ファイルの内容
+     * @param executeOptions 実行オプション（targetは無視する）
+     * @return 生成結果
+     */
+    public GenerateResult generate(InputStream spec, ExecuteOptions executeOptions) {
+        Path temp = null;
+        String target = STREAM_TARGET;
+        try {
+            temp = Files.createTempFile("et3-devtools-spec-", ".yaml");
+            target = temp.toString();
+            Files.copy(spec, temp, StandardCopyOption.REPLACE_EXISTING);
+            ExecuteOptions specOptions = executeOptions.toBuilder()
+                    .target(temp.toString())
+                    .batch(null)
+                    .force(true)
+                    .build();
+            return generate(specOptions);
+        } catch (IOException e) {
+            log.error("Fail read spec stream. spec:{}", target, e);
+            GenerateResult result = new GenerateResult();
+            result.setTarget(target);
+            result.setSuccess(false);
+            result.setError(new GeneratorException("fail read spec stream.", e));
+            return result;
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * 複数の設計ファイルを並列に生成.
+     *
+     * @param executeOptions 実行オプション（batchに対象を指定）
+     * @return 設計ファイル毎の生成結果
+     */
+    public List<GenerateResult> generateAll(ExecuteOptions executeOptions) {
+        return BatchGenerator.getInstance().execute(executeOptions);
+    }
+
+    /**
+     * Locale毎の処理のExecutorを作成.
+     *
+     * @param executeOptions 実行オプション
+     * @return Executor（Locale並列数が1以下の場合はnull）
+     */
+    ExecutorService createLocaleExecutor(ExecuteOptions executeOptions) {
+        int parallelism = executeOptions.getLocaleParallelism();
+        if (parallelism <= 1) {
+            return null;
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "et3-devtools-locale-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Locale毎の処理のExecutorを終了.
+     *
+     * @param localeExecutor Executor（nullの場合は何もしない）
+     */
+    void shutdownLocaleExecutor(ExecutorService localeExecutor) {
+        if (localeExecutor != null) {
+            localeExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 設計ファイル1つ分の生成処理.
+     *
+     * @param executeOptions 実行オプション
+     * @param localeExecutor Locale毎の処理のExecutor（逐次実行する場合はnull）
+     * @return コンテキスト
+     */
+    private DevGeneratorContext execute(ExecuteOptions executeOptions, ExecutorService localeExecutor) {
+
+        DevGeneratorContext context = new DevGeneratorContext();
+        context.setExecuteOptions(executeOptions);
+        context.setLocaleExecutor(localeExecutor);
+        long start = System.nanoTime();
+        if (StringUtils.isNotEmpty(executeOptions.getMetricsOutput())) {
+            context.setMetrics(new SpecMetrics());
+            context.getMetrics().setTarget(executeOptions.getTarget());
+        }
+
+        // 前回の生成から変化が無ければスキップ
+        if (GenerateCacheComponent.getInstance().isUpToDate(context)) {
+            log.info("Skip Generate. spec is up-to-date. spec:{}", executeOptions.getTarget());
+            context.setSkipped(true);
+            completeMetrics(context, start);
+            return context;
+        }
+
+        try {
+            // 設計解析
+            SpecParseComponent.getInstance().execute(context);
+
+            // セクション毎のフィンガープリント（前回から変更の無いセクションのみに依存する出力は再生成しない）
+            try (Measurement m = MetricsUtils.start(context, "parse.fingerprint")) {
+                SectionFingerprintUtils.compute(context);
+            }
+
+            // messages.properties、Messages.javaの出力
+            if (StringUtils.isNotEmpty(executeOptions.getMessageOutput())
+                    && StringUtils.isNotEmpty(executeOptions.getJavaOutput())) {
+                MessageGenerateComponent.getInstance().execute(context);
+            } else {
+                log.info("Skip Generate messages.properties and Messages.java");
+            }
+
+            // ドキュメントの出力
+            if (StringUtils.isNotEmpty(executeOptions.getDocOutput())) {
+                DocumentGenerateComponent.getInstance().execute(context);
+            } else {
+                log.info("Skip Generate Documents.");
+            }
+
+            // 出力ファイルの書き込み完了を待つ
+            OutputWriteComponent.getInstance().execute(context);
+        } finally {
+            // 途中で失敗した場合も、依頼済の書き込みが生成の終了後に続かないようにする
+            OutputWriteComponent.getInstance().discard(context);
+        }
+
+        log.info("Output Files. written:{}, unchanged:{}", context.getWrittenCount().get(),
+                context.getUnchangedCount().get());
+
+        // キャッシュマニフェストの保存
+        GenerateCacheComponent.getInstance().execute(context);
+
+        completeMetrics(context, start);
+
+        return context;
+    }
+
+    /**
+     * 計測値にエンティティ数と出力バイト数を設定して計測を完了する.
+     *
+     * @param context コンテキスト
+     * @param start 開始時刻（System.nanoTime）
+     */
+    private void completeMetrics(DevGeneratorContext context, long start) {
+        SpecMetrics metrics = context.getMetrics();
+        if (metrics == null) {
+            return;
+        }
+        metrics.setSuccess(true);
+        metrics.setSkipped(context.isSkipped());
+        metrics.setWallNanos(System.nanoTime() - start);
+        metrics.getEntities().put("languages", context.getFunctionModelMap().size());
+        context.getFunctionModelMap().values().stream().findFirst().ifPresent(x -> {
+            metrics.getEntities().put("messages", x.getMessages().size());
+            metrics.getEntities().put("flows", x.getFlows().size());
+            metrics.getEntities().put("commands", x.getCommands().size());
+            metrics.getEntities().put("configurations", x.getConfigurations().size());
+        });
+        context.getOutputFiles().stream().distinct().forEach(x -> {
+            try {
+                metrics.getOutputs().put(x, Files.size(Paths.get(x)));
+            } catch (IOException e) {
+                log.warn("fail read output file size. path:{}", x, e);
+            }
+        });
+    }
+
+    /**
+     * 一時ファイルを削除（失敗してもエラーとしない）.
+     *
+     * @param path 一時ファイル
+     */
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("fail delete temporary spec file. path:{}", path, e);
+        }
+    }
+
+}
@@ -0,0 +1,334 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.app;
+
+import com.epion_t3.devtools.bean.ExecuteOptions;
+import com.epion_t3.devtools.bean.GenerateResult;
+import com.epion_t3.devtools.exception.GeneratorException;
+import com.epion_t3.devtools.util.SpecFileUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 設計ファイルの変更を監視し、変更された設計ファイルのみ再生成する常駐処理.
+ * <p>
+ * 同一プロセス内で実行し続けるため、設計ファイルのReaderやコンパイル済テンプレートは2回目以降の生成で再利用される.
+ * ユーザーテンプレートディレクトリが変更された場合は全ての設計ファイルを再生成する
+ * （テンプレートに依存しない出力の再生成要否は生成エンジンが判定する）.
+ * バッチ対象がディレクトリ・Globの場合は起点のディレクトリ配下を全て監視し、作成されたディレクトリも監視対象に加える.
+ * ユーザーテンプレートはディレクトリ直下のファイルのみを解決するため、テンプレートディレクトリのサブディレクトリ
+ * （パーシャル等）の変更は検知しない.
+ *
+ * @author takashno
+ */
+@Slf4j
+public final class SpecWatcher {
+
+    /**
+     * シングルトンインスタンス.
+     */
+    private static final SpecWatcher instance = new SpecWatcher();
+
+    /**
+     * プライベートコンストラクタ.
+     */
+    private SpecWatcher() {
+        // Do Nothing...
+    }
+
+    /**
+     * シングルトンインスタンスを取得.
+     *
+     * @return シングルトンインスタンス
+     */
+    public static SpecWatcher getInstance() {
+        return instance;
+    }
+
+    /**
+     * 監視を開始.
+     * <p>
+     * 初回に全ての設計ファイルを生成した後、スレッドが割り込まれるまで監視を続ける.
+     * 保存時に発生する連続したイベントは、debounceMillisの間イベントが発生しなくなるまでまとめてから再生成する.
+     *
+     * @param executeOptions 実行オプション（targetまたはbatchに監視対象を指定）
+     */
+    public void watch(ExecuteOptions executeOptions) {
+        // Locale毎の処理のExecutorは監視を終了するまで全ての設計ファイルで共有する
+        ExecutorService localeExecutor = DevGeneratorEngine.getInstance().createLocaleExecutor(executeOptions);
+        try {
+            watch(executeOptions, localeExecutor);
+        } finally {
+            DevGeneratorEngine.getInstance().shutdownLocaleExecutor(localeExecutor);
+        }
+    }
+
+    /**
+     * 監視を開始.
+     *
+     * @param executeOptions 実行オプション（targetまたはbatchに監視対象を指定）
+     * @param localeExecutor Locale毎の処理のExecutor（逐次実行する場合はnull）
+     */
+    private void watch(ExecuteOptions executeOptions, ExecutorService localeExecutor) {
+
+        Set<Path> specFiles = resolveSpecFiles(executeOptions);
+
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+
+            Set<Path> watchDirs = new HashSet<>();
+            registerDirectories(watchService, watchDirs, specFiles);
+            Path batchRoot = resolveBatchRoot(executeOptions);
+            if (batchRoot != null) {
+                registerTree(watchService, watchDirs, batchRoot);
+            }
+            Path listFile = resolveListFile(executeOptions);
+            if (listFile != null) {
+                registerDirectory(watchService, watchDirs, listFile.getParent());
+            }
+            Path templateDir = resolveTemplateDir(executeOptions);
+            if (templateDir != null) {
+                registerDirectory(watchService, watchDirs, templateDir);
+            }
+
+            // 初回の生成中の変更も検知できるよう、監視対象を登録してから生成する
+            specFiles.forEach(x -> generate(executeOptions, localeExecutor, x));
+            log.info("Start watching. specs:{}, directories:{}", specFiles.size(), watchDirs.size());
+
+            while (!Thread.currentThread().isInterrupted()) {
+
+                // 最初のイベントを待機
+                WatchKey key = watchService.take();
+                Set<Path> changed = new LinkedHashSet<>();
+                boolean created = collect(key, changed);
+
+                // 連続したイベントをまとめる
+                while ((key = watchService.poll(executeOptions.getDebounceMillis(), TimeUnit.MILLISECONDS)) != null) {
+                    created |= collect(key, changed);
+                }
+
+                // バッチ対象の配下に作成されたディレクトリを監視対象に加える
+                if (batchRoot != null && created) {
+                    registerCreatedDirectories(watchService, watchDirs, batchRoot, changed);
+                }
+
+                // バッチ指定の場合はファイルの追加・リストファイルの変更に追従する
+                Set<Path> targets = new LinkedHashSet<>();
+                if (StringUtils.isNotEmpty(executeOptions.getBatch())
+                        && (created || (listFile != null && changed.contains(listFile)))) {
+                    Set<Path> previous = specFiles;
+                    specFiles = resolveSpecFiles(executeOptions);
+                    registerDirectories(watchService, watchDirs, specFiles);
+                    specFiles.stream().filter(x -> !previous.contains(x)).forEach(targets::add);
+                }
+
+                // テンプレートの変更は全ての設計ファイルに影響する
+                if (templateDir != null && changed.stream().anyMatch(x -> templateDir.equals(x.getParent()))) {
+                    targets.addAll(specFiles);
+                }
+
+                changed.stream().filter(specFiles::contains).forEach(targets::add);
+                for (Path path : specFiles) {
+                    if (targets.contains(path) && Files.exists(path)) {
+                        generate(executeOptions, localeExecutor, path);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("Stop watching.");
+        } catch (IOException e) {
+            throw new GeneratorException("fail watch spec files.", e);
+        }
+    }
+
+    /**
+     * WatchKeyのイベントから変更されたファイルを収集.
+     *
+     * @param key WatchKey
+     * @param changed 変更されたファイル
+     * @return ファイルの作成イベントが含まれていた場合true
+     */
+    private boolean collect(WatchKey key, Set<Path> changed) {
+        boolean created = false;
+        Path dir = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                continue;
+            }
+            created |= event.kind() == StandardWatchEventKinds.ENTRY_CREATE;
+            changed.add(dir.resolve((Path) event.context()).toAbsolutePath().normalize());
+        }
+        key.reset();
+        return created;
+    }
+
+    /**
+     * 設計ファイルの格納ディレクトリを監視対象に登録.
+     *
+     * @param watchService WatchService
+     * @param watchDirs 登録済のディレクトリ
+     * @param specFiles 設計ファイル
+     * @throws IOException I/O例外
+     */
+    private void registerDirectories(WatchService watchService, Set<Path> watchDirs, Set<Path> specFiles)
+            throws IOException {
+        for (Path specFile : specFiles) {
+            registerDirectory(watchService, watchDirs, specFile.getParent());
+        }
+    }
+
+    /**
+     * ディレクトリとその配下の全てのディレクトリを監視対象に登録.
+     *
+     * @param watchService WatchService
+     * @param watchDirs 登録済のディレクトリ
+     * @param root 起点のディレクトリ
+     * @throws IOException I/O例外
+     */
+    private void registerTree(WatchService watchService, Set<Path> watchDirs, Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path dir : paths.filter(Files::isDirectory).collect(Collectors.toList())) {
+                registerDirectory(watchService, watchDirs, dir);
+            }
+        }
+    }
+
+    /**
+     * 変更されたファイルのうち、バッチ対象の配下に作成されたディレクトリを監視対象に登録.
+     * <p>
+     * 登録前に削除された場合など、登録に失敗したディレクトリは監視せずに継続する.
+     *
+     * @param watchService WatchService
+     * @param watchDirs 登録済のディレクトリ
+     * @param batchRoot バッチ対象の起点のディレクトリ
+     * @param changed 変更されたファイル
+     */
+    private void registerCreatedDirectories(WatchService watchService, Set<Path> watchDirs, Path batchRoot,
+            Set<Path> changed) {
+        for (Path path : changed) {
+            if (path.startsWith(batchRoot) && !watchDirs.contains(path) && Files.isDirectory(path)) {
+                try {
+                    registerTree(watchService, watchDirs, path);
+                } catch (IOException | UncheckedIOException e) {
+                    log.warn("fail watch created directory. path:{}", path, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * ディレクトリを監視対象に登録（登録済の場合は何もしない）.
+     *
+     * @param watchService WatchService
+     * @param watchDirs 登録済のディレクトリ
+     * @param dir ディレクトリ
+     * @throws IOException I/O例外
+     */
+    private void registerDirectory(WatchService watchService, Set<Path> watchDirs, Path dir) throws IOException {
+        if (watchDirs.add(dir)) {
+            // エディタによっては一時ファイルからのリネームで保存するため作成イベントも監視する
+            dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+        }
+    }
+
+    /**
+     * バッチ対象がリストファイルの場合、リストファイルを取得.
+     *
+     * @param executeOptions 実行オプション
+     * @return リストファイル（絶対パス、リストファイルでない場合はnull）
+     */
+    private Path resolveListFile(ExecuteOptions executeOptions) {
+        if (StringUtils.isEmpty(executeOptions.getBatch()) || SpecFileUtils.isGlob(executeOptions.getBatch())) {
+            return null;
+        }
+        Path path = Paths.get(executeOptions.getBatch()).toAbsolutePath().normalize();
+        return Files.isRegularFile(path) && !SpecFileUtils.isSpecFile(path) ? path : null;
+    }
+
+    /**
+     * バッチ対象がディレクトリ・Globの場合、配下を監視する起点のディレクトリを取得.
+     *
+     * @param executeOptions 実行オプション
+     * @return 起点のディレクトリ（絶対パス、ディレクトリ・Globでない場合はnull）
+     */
+    private Path resolveBatchRoot(ExecuteOptions executeOptions) {
+        String batch = executeOptions.getBatch();
+        if (StringUtils.isEmpty(batch)) {
+            return null;
+        }
+        Path root = (SpecFileUtils.isGlob(batch) ? SpecFileUtils.getGlobBaseDir(batch) : Paths.get(batch))
+                .toAbsolutePath()
+                .normalize();
+        return Files.isDirectory(root) ? root : null;
+    }
+
+    /**
+     * 監視するユーザーテンプレートディレクトリを取得.
+     *
+     * @param executeOptions 実行オプション
+     * @return ユーザーテンプレートディレクトリ（絶対パス、未指定の場合はnull）
+     */
+    private Path resolveTemplateDir(ExecuteOptions executeOptions) {
+        if (StringUtils.isEmpty(executeOptions.getTemplateDir())) {
+            return null;
+        }
+        Path path = Paths.get(executeOptions.getTemplateDir()).toAbsolutePath().normalize();
+        return Files.isDirectory(path) ? path : null;
+    }
+
+    /**
+     * 監視対象の設計ファイルを解決.
+     *
+     * @param executeOptions 実行オプション
+     * @return 設計ファイル（絶対パス）
+     */
+    private Set<Path> resolveSpecFiles(ExecuteOptions executeOptions) {
+        List<Path> specFiles = StringUtils.isNotEmpty(executeOptions.getBatch())
+                ? SpecFileUtils.resolve(executeOptions.getBatch())
+                : List.of(Paths.get(executeOptions.getTarget()));
+        return specFiles.stream()
+                .map(x -> x.toAbsolutePath().normalize())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * 設計ファイル1つ分を生成.
+     * <p>
+     * 監視を継続するため、エラーはログ出力のみとする（ログ出力は生成エンジンで行う）.
+     *
+     * @param executeOptions 実行オプション
+     * @param localeExecutor Locale毎の処理のExecutor（逐次実行する場合はnull）
+     * @param specFile 設計ファイル
+     */
+    private void generate(ExecuteOptions executeOptions, ExecutorService localeExecutor, Path specFile) {
+        ExecuteOptions specOptions = SerializationUtils.clone(executeOptions);
+        specOptions.setTarget(specFile.toString());
+        specOptions.setBatch(null);
+        GenerateResult result = DevGeneratorEngine.getInstance().generate(specOptions, localeExecutor);
+        if (result.isSuccess()) {
+            log.info("{} : {} ({}ms)", result.isSkipped() ? "UP-TO-DATE" : "GENERATED", specFile,
+                    result.getElapsedMillis());
+        }
+    }
+
+}
@@ -22,17 +22,17 @@ public class CommandModel implements Serializable {
     /**
      * ID.
      */
-    private String id;
+    private final String id;
 
     /**
      * アサートコマンド.
      */
-    private Boolean assertCommand = false;
+    private final Boolean assertCommand;
 
     /**
      * エビデンスコマンド.
      */
-    private Boolean evidenceCommand = false;
+    private final Boolean evidenceCommand;
 
     /**
      * コマンド概要.
@@ -54,6 +54,21 @@ public class CommandModel implements Serializable {
      */
     private List<String> structureDescription;
 
+    /**
+     * コンストラクタ.
+     * <p>
+     * Localeに依存しない情報は全Localeのモデルで同一のインスタンスを共有する.
+     *
+     * @param id ID
+     * @param assertCommand アサートコマンド
+     * @param evidenceCommand エビデンスコマンド
+     */
+    public CommandModel(String id, Boolean assertCommand, Boolean evidenceCommand) {
+        this.id = id;
+        this.assertCommand = assertCommand;
+        this.evidenceCommand = evidenceCommand;
+    }
+
     /**
      * 機能説明を追加.
      *
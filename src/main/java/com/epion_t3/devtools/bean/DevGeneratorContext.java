@@ -8,6 +8,12 @@ import lombok.Setter;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Getter
 @Setter
@@ -23,9 +29,94 @@ public class DevGeneratorContext implements Serializable {
      */
     private Map<String, FunctionModel> functionModelMap = new HashMap<>();
 
+    /**
+     * 対象Localeとインデックスの対応.
+     */
+    private LocaleIndex localeIndex;
+
+    /**
+     * Locale毎に分割した機能モデル（LocaleIndexの順、functionModelMapと同一のインスタンス）.
+     */
+    private FunctionModel[] functionModels;
+
+    /**
+     * 解析中にID・コンテンツ文字列を正規化するプール（解析後はnull）.
+     */
+    private transient StringPool stringPool;
+
     /**
      * 機能設計情報.
      */
     private ET3Spec spec;
 
+    /**
+     * 出力したファイルのパス（出力スレッドから追加されるため、追加の度に複製しないキューで保持する）.
+     */
+    private Queue<String> outputFiles = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 書き込みを依頼し、完了を待っていない出力.
+     */
+    private final transient Queue<Future<?>> pendingOutputs = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Locale毎の出力処理を並列実行するExecutor（生成エンジンが設定・終了する. 未設定の場合は逐次実行する）.
+     */
+    private transient ExecutorService localeExecutor;
+
+    /**
+     * 計測値（計測が無効な場合はnull）.
+     */
+    private SpecMetrics metrics;
+
+    /**
+     * 設計ファイルのハッシュ値.
+     */
+    private String specHash;
+
+    /**
+     * 今回の生成で解決したテンプレートのハッシュ値（キーはテンプレートのキー）.
+     */
+    private Map<String, String> templateHashes = new ConcurrentHashMap<>();
+
+    /**
+     * 前回の生成時の出力毎のフィンガープリント（再利用できない場合は空）.
+     */
+    private Map<String, String> previousFingerprints = new HashMap<>();
+
+    /**
+     * 今回の生成の出力毎のフィンガープリント.
+     */
+    private Map<String, String> fingerprints = new ConcurrentHashMap<>();
+
+    /**
+     * キャッシュが有効であったため生成をスキップしたか.
+     */
+    private boolean skipped;
+
+    /**
+     * 内容に変更があり書き込んだファイル数.
+     */
+    private final AtomicInteger writtenCount = new AtomicInteger();
+
+    /**
+     * 内容に変更が無く書き込まなかったファイル数.
+     */
+    private final AtomicInteger unchangedCount = new AtomicInteger();
+
+    /**
+     * 出力したファイルを追加.
+     *
+     * @param outputFile 出力したファイルのパス
+     * @param written 書き込んだ場合true、内容が同一で書き込まなかった場合false
+     */
+    public void addOutputFile(String outputFile, boolean written) {
+        outputFiles.add(outputFile);
+        if (written) {
+            writtenCount.incrementAndGet();
+        } else {
+            unchangedCount.incrementAndGet();
+        }
+    }
+
 }
@@ -1,13 +1,19 @@
 /* Copyright (c) 2017-2020 Nozomu Takashima. */
 package com.epion_t3.devtools.bean;
 
+import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.io.Serializable;
 
 @Getter
 @Setter
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
 public class ExecuteOptions implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -20,4 +26,89 @@ public class ExecuteOptions implements Serializable {
 
     private String docOutput;
 
+    /**
+     * ユーザーテンプレートディレクトリ（直下にfunction-&lt;Locale&gt;.mustache等を配置）.
+     */
+    private String templateDir;
+
+    /**
+     * Messages.javaのJavaDocに利用する主Locale（未指定の場合は設計ファイルの先頭のLocale）.
+     */
+    private String primaryLocale;
+
+    /**
+     * 設計ファイルをストリーミングで解析するか（設計ファイル全体の木を保持しない）.
+     */
+    private boolean streamingParse;
+
+    /**
+     * 設計情報をセクション毎に並列で解析するか（ストリーミング解析時は無効）.
+     */
+    private boolean parallelParse;
+
+    /**
+     * Messages.javaを分割するメッセージ数（これを超える場合は複数のEnumへ分割する）.
+     * <p>
+     * 分割した先頭のEnumは「Messages」、以降は「Messages2」からの連番のクラス名となり、分割数の変化で生成されなくなった
+     * Enumは削除する. 列挙子の分割先はメッセージキーから決まり、分割数が変わらない限りメッセージの追加・削除で移動しない.
+     * 分割に依存せずに列挙子を取得する場合は「MessagesLookup」を利用する.
+     */
+    @Builder.Default
+    private int enumShardSize = 2000;
+
+    /**
+     * messages.propertiesに加えてコンパイル済リソースバンドル（ListResourceBundle）を出力するか.
+     * <p>
+     * Messages.javaと同じパッケージに出力し、基底名は「&lt;パッケージ&gt;.&lt;Enumのクラス名&gt;Bundle」となる.
+     */
+    private boolean resourceBundle;
+
+    /**
+     * 機能ドキュメントの代わりにFlow・コマンド・設定毎のドキュメントと索引を出力するか.
+     */
+    private boolean entityDocuments;
+
+    /**
+     * バッチ対象（ディレクトリ、Glob、リストファイル）.
+     */
+    private String batch;
+
+    /**
+     * バッチ実行時の並列数.
+     */
+    @Builder.Default
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Locale毎の出力処理の並列数（1以下の場合は逐次実行）.
+     */
+    @Builder.Default
+    private int localeParallelism = 1;
+
+    /**
+     * 設計ファイルの変更を監視して再生成し続けるか.
+     */
+    private boolean watch;
+
+    /**
+     * 監視時に連続したイベントをまとめる待機時間（ミリ秒）.
+     */
+    @Builder.Default
+    private long debounceMillis = 200L;
+
+    /**
+     * 計測レポート（JSON）の出力先（未指定の場合は計測しない）.
+     */
+    private String metricsOutput;
+
+    /**
+     * キャッシュを無視して強制的に生成するか.
+     */
+    private boolean force;
+
+    /**
+     * キャッシュマニフェストの出力先（未指定の場合は出力先ディレクトリ）.
+     */
+    private String cacheDir;
+
 }
@@ -22,7 +22,7 @@ public class FlowModel implements Serializable {
     /**
      * ID.
      */
-    private String id;
+    private final String id;
 
     /**
      * コマンド概要.
@@ -44,6 +44,17 @@ public class FlowModel implements Serializable {
      */
     private List<String> structureDescription;
 
+    /**
+     * コンストラクタ.
+     * <p>
+     * Localeに依存しない情報は全Localeのモデルで同一のインスタンスを共有する.
+     *
+     * @param id ID
+     */
+    public FlowModel(String id) {
+        this.id = id;
+    }
+
     /**
      * 機能説明を追加.
      *
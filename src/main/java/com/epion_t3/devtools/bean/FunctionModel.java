@@ -9,6 +9,9 @@ import java.util.*;
 
 /**
  * 機能出力モデル.
+ * <p>
+ * 並列解析時も各Mapは対応するセクションの解析タスクのみが設計ファイルの順に更新するため、
+ * 逐次解析と同じ反復順となる.
  *
  * @author takashno
  */
@@ -49,42 +52,93 @@ public class FunctionModel {
     /**
      * 設定.
      */
-    private Map<String, ConfigurationModel> configurations = new HashMap<>();
+    private Map<String, ConfigurationModel> configurations;
 
     /**
-     * 設定セット.
+     * Flow.
      */
-    private Set<Map.Entry<String, ConfigurationModel>> configurationsEntrySet = configurations.entrySet();
+    private Map<String, FlowModel> flows;
 
     /**
-     * Flow.
+     * コマンド.
      */
-    private Map<String, FlowModel> flows = new HashMap<>();
+    private Map<String, CommandModel> commands;
 
     /**
-     * Flowセット.
+     * メッセージ.
      */
-    private Set<Map.Entry<String, FlowModel>> flowsEntrySet = flows.entrySet();
+    private Map<String, Property> messages;
 
     /**
-     * コマンド.
+     * コンストラクタ.
      */
-    private Map<String, CommandModel> commands = new HashMap<>();
+    public FunctionModel() {
+        this(0, 0, 0, 0);
+    }
+
+    /**
+     * コンストラクタ.
+     * <p>
+     * 設計ファイルの要素数が分かっている場合は、再ハッシュが発生しないようMapの容量を確保する.
+     * Mapは設計ファイルの順（追加順）に反復する.
+     *
+     * @param configurations 設定数
+     * @param flows Flow数
+     * @param commands コマンド数
+     * @param messages メッセージ数
+     */
+    public FunctionModel(int configurations, int flows, int commands, int messages) {
+        this.configurations = new LinkedHashMap<>(capacity(configurations));
+        this.flows = new LinkedHashMap<>(capacity(flows));
+        this.commands = new LinkedHashMap<>(capacity(commands));
+        this.messages = new LinkedHashMap<>(capacity(messages));
+    }
 
     /**
-     * コマンドセット.
+     * 要素数から再ハッシュが発生しないMapの容量を算出.
+     *
+     * @param size 要素数
+     * @return 容量（要素数が不明な場合はMapの既定値）
      */
-    private Set<Map.Entry<String, CommandModel>> commandsEntrySet = commands.entrySet();
+    private static int capacity(int size) {
+        return size > 0 ? (int) (size / 0.75f) + 1 : 16;
+    }
 
     /**
-     * メッセージ.
+     * 設定セットを取得（テンプレートから参照する）.
+     *
+     * @return 設定セット
      */
-    private Map<String, Property> messages = new HashMap<>();
+    public Set<Map.Entry<String, ConfigurationModel>> getConfigurationsEntrySet() {
+        return configurations.entrySet();
+    }
 
     /**
-     * メッセージセット.
+     * Flowセットを取得（テンプレートから参照する）.
+     *
+     * @return Flowセット
+     */
+    public Set<Map.Entry<String, FlowModel>> getFlowsEntrySet() {
+        return flows.entrySet();
+    }
+
+    /**
+     * コマンドセットを取得（テンプレートから参照する）.
+     *
+     * @return コマンドセット
      */
-    private Set<Map.Entry<String, Property>> messagesEntrySet = messages.entrySet();
+    public Set<Map.Entry<String, CommandModel>> getCommandsEntrySet() {
+        return commands.entrySet();
+    }
+
+    /**
+     * メッセージセットを取得（テンプレートから参照する）.
+     *
+     * @return メッセージセット
+     */
+    public Set<Map.Entry<String, Property>> getMessagesEntrySet() {
+        return messages.entrySet();
+    }
 
     @Nullable
     public ConfigurationModel getConfiguration(String id) {
@@ -0,0 +1,67 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.bean;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 設計ファイル毎の生成結果.
+ *
+ * @author takashno
+ */
+@Getter
+@Setter
+public class GenerateResult implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 対象の設計ファイル.
+     */
+    private String target;
+
+    /**
+     * 成功可否.
+     */
+    private boolean success;
+
+    /**
+     * 変更が無いため生成をスキップしたか.
+     */
+    private boolean skipped;
+
+    /**
+     * 内容に変更があり書き込んだファイル数.
+     */
+    private int writtenCount;
+
+    /**
+     * 内容に変更が無く書き込まなかったファイル数.
+     */
+    private int unchangedCount;
+
+    /**
+     * 出力ファイル（内容に変更が無く書き込まなかったファイルを含む）.
+     */
+    private List<String> outputFiles = new ArrayList<>();
+
+    /**
+     * 処理時間（ミリ秒）.
+     */
+    private long elapsedMillis;
+
+    /**
+     * 計測値（計測が無効な場合はnull）.
+     */
+    private SpecMetrics metrics;
+
+    /**
+     * 発生したエラー.
+     */
+    private Throwable error;
+
+}
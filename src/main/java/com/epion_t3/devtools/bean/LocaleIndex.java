@@ -0,0 +1,91 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.bean;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 対象Localeと連番（インデックス）の対応.
+ * <p>
+ * 設計ファイルの解析開始時に1度だけ作成し、Locale毎の情報は配列としてインデックスで参照する.
+ *
+ * @author takashno
+ */
+public class LocaleIndex implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * インデックス順のLocale文字列.
+     */
+    private final List<String> languages;
+
+    /**
+     * Locale文字列とインデックスの対応.
+     */
+    private final Map<String, Integer> indexes;
+
+    /**
+     * コンストラクタ.
+     * <p>
+     * 重複したLocaleは最初の1つのみ有効とする. Locale文字列は全ての設計ファイルで共有するよう正規化する.
+     *
+     * @param languages Locale文字列
+     */
+    public LocaleIndex(List<String> languages) {
+        List<String> distinct = new ArrayList<>(languages.size());
+        this.indexes = new HashMap<>(languages.size() * 2);
+        for (String value : languages) {
+            String language = value.intern();
+            if (!indexes.containsKey(language)) {
+                indexes.put(language, distinct.size());
+                distinct.add(language);
+            }
+        }
+        this.languages = Collections.unmodifiableList(distinct);
+    }
+
+    /**
+     * Locale数を取得.
+     *
+     * @return Locale数
+     */
+    public int size() {
+        return languages.size();
+    }
+
+    /**
+     * Locale文字列のインデックスを取得.
+     *
+     * @param language Locale文字列
+     * @return インデックス（対象外のLocaleの場合は-1）
+     */
+    public int indexOf(String language) {
+        Integer index = indexes.get(language);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * インデックスのLocale文字列を取得.
+     *
+     * @param index インデックス
+     * @return Locale文字列
+     */
+    public String getLanguage(int index) {
+        return languages.get(index);
+    }
+
+    /**
+     * インデックス順のLocale文字列を取得.
+     *
+     * @return Locale文字列
+     */
+    public List<String> getLanguages() {
+        return languages;
+    }
+
+}
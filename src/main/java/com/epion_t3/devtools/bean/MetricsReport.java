@@ -0,0 +1,32 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.bean;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 計測レポート.
+ *
+ * @author takashno
+ */
+@Getter
+@Setter
+public class MetricsReport implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 全設計ファイルの集計値.
+     */
+    private SpecMetrics total = new SpecMetrics();
+
+    /**
+     * 設計ファイル毎の計測値（経過時間の降順）.
+     */
+    private List<SpecMetrics> specs = new ArrayList<>();
+
+}
@@ -0,0 +1,81 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.bean;
+
+import lombok.Getter;
+
+import java.io.Serializable;
+
+/**
+ * 処理フェーズ毎の計測値.
+ * <p>
+ * Locale毎の並列処理のように複数スレッドで計測される場合は各スレッドの計測値を合算する.
+ * 経過時間はフェーズを開始したスレッドで計測した値であり、CPU時間と割り当てメモリはフェーズの処理を
+ * 実行した全てのスレッド（並列解析のタスク、Locale毎の処理、出力スレッドを含む）の合計である.
+ *
+ * @author takashno
+ */
+@Getter
+public class PhaseMetrics implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 計測回数.
+     */
+    private long count;
+
+    /**
+     * 経過時間（ナノ秒、フェーズを開始したスレッドで計測した値）.
+     */
+    private long wallNanos;
+
+    /**
+     * CPU時間（ナノ秒、処理を実行した全てのスレッドの合計）.
+     */
+    private long cpuNanos;
+
+    /**
+     * 割り当てたメモリ（バイト、処理を実行した全てのスレッドの合計）.
+     */
+    private long allocatedBytes;
+
+    /**
+     * 計測値を加算.
+     *
+     * @param wallNanos 経過時間（ナノ秒）
+     * @param cpuNanos CPU時間（ナノ秒）
+     * @param allocatedBytes 割り当てたメモリ（バイト）
+     */
+    public synchronized void add(long wallNanos, long cpuNanos, long allocatedBytes) {
+        this.count++;
+        this.wallNanos += wallNanos;
+        this.cpuNanos += cpuNanos;
+        this.allocatedBytes += allocatedBytes;
+    }
+
+    /**
+     * フェーズを開始したスレッド以外で実行した処理の計測値を加算.
+     * <p>
+     * 計測回数・経過時間は加算しない.
+     *
+     * @param cpuNanos CPU時間（ナノ秒）
+     * @param allocatedBytes 割り当てたメモリ（バイト）
+     */
+    public synchronized void addWorker(long cpuNanos, long allocatedBytes) {
+        this.cpuNanos += cpuNanos;
+        this.allocatedBytes += allocatedBytes;
+    }
+
+    /**
+     * 他の計測値を加算.
+     *
+     * @param other 計測値
+     */
+    public synchronized void add(PhaseMetrics other) {
+        this.count += other.count;
+        this.wallNanos += other.wallNanos;
+        this.cpuNanos += other.cpuNanos;
+        this.allocatedBytes += other.allocatedBytes;
+    }
+
+}
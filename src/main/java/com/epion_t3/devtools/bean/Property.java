@@ -14,7 +14,16 @@ import java.io.Serializable;
 @Setter
 public class Property implements Serializable {
 
-    private String key;
+    private final String key;
 
     private String value;
+
+    /**
+     * コンストラクタ.
+     *
+     * @param key キー
+     */
+    public Property(String key) {
+        this.key = key;
+    }
 }
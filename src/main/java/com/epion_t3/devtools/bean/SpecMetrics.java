@@ -0,0 +1,80 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.bean;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 設計ファイル毎の計測値.
+ *
+ * @author takashno
+ */
+@Getter
+@Setter
+public class SpecMetrics implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 対象の設計ファイル（集計値の場合はnull）.
+     */
+    private String target;
+
+    /**
+     * 成功可否.
+     */
+    private boolean success;
+
+    /**
+     * 変更が無いため生成をスキップしたか.
+     */
+    private boolean skipped;
+
+    /**
+     * 全体の経過時間（ナノ秒）.
+     */
+    private long wallNanos;
+
+    /**
+     * フェーズ毎の計測値.
+     */
+    private Map<String, PhaseMetrics> phases = new ConcurrentSkipListMap<>();
+
+    /**
+     * エンティティ数.
+     */
+    private Map<String, Integer> entities = new TreeMap<>();
+
+    /**
+     * 出力ファイル毎の出力バイト数.
+     */
+    private Map<String, Long> outputs = new ConcurrentSkipListMap<>();
+
+    /**
+     * フェーズの計測値を取得（存在しない場合は作成）.
+     *
+     * @param phase フェーズ名
+     * @return 計測値
+     */
+    public PhaseMetrics getPhase(String phase) {
+        return phases.computeIfAbsent(phase, x -> new PhaseMetrics());
+    }
+
+    /**
+     * 他の設計ファイルの計測値を加算.
+     *
+     * @param other 計測値
+     */
+    public void add(SpecMetrics other) {
+        wallNanos += other.getWallNanos();
+        other.getPhases().forEach((k, v) -> getPhase(k).add(v));
+        other.getEntities().forEach((k, v) -> entities.merge(k, v, Integer::sum));
+        other.getOutputs().forEach((k, v) -> outputs.merge(k, v, Long::sum));
+    }
+
+}
@@ -0,0 +1,35 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.bean;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 同じ内容の文字列を1つのインスタンスへ正規化するプール.
+ * <p>
+ * 設計ファイルの解析中のみ利用し、ID・コンテンツ文字列をモデル間で共有させる. 並列解析から同時に利用できる.
+ *
+ * @author takashno
+ */
+public class StringPool {
+
+    /**
+     * 正規化済の文字列.
+     */
+    private final ConcurrentMap<String, String> pool = new ConcurrentHashMap<>();
+
+    /**
+     * 正規化した文字列を取得.
+     *
+     * @param value 文字列
+     * @return 同じ内容で最初に登録された文字列（nullの場合はnull）
+     */
+    public String get(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = pool.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+}
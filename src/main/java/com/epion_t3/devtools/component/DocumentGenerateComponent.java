@@ -1,20 +1,44 @@
 /* Copyright (c) 2017-2020 Nozomu Takashima. */
 package com.epion_t3.devtools.component;
 
+import com.epion_t3.devtools.bean.CommandModel;
+import com.epion_t3.devtools.bean.ConfigurationModel;
 import com.epion_t3.devtools.bean.DevGeneratorContext;
+import com.epion_t3.devtools.bean.FlowModel;
 import com.epion_t3.devtools.bean.FunctionModel;
-import com.github.mustachejava.DefaultMustacheFactory;
+import com.epion_t3.devtools.exception.GeneratorException;
+import com.epion_t3.devtools.util.FingerprintBuilder;
+import com.epion_t3.devtools.util.HashUtils;
+import com.epion_t3.devtools.util.LocaleTaskUtils;
+import com.epion_t3.devtools.util.MetricsUtils;
+import com.epion_t3.devtools.util.MetricsUtils.Measurement;
+import com.epion_t3.devtools.util.SectionFingerprintUtils;
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
-import org.apache.commons.io.FileUtils;
+import com.github.mustachejava.MustacheException;
 
-import java.io.File;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.StringWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * ドキュメント生成処理.
@@ -29,17 +53,34 @@ public final class DocumentGenerateComponent implements Component {
     private static DocumentGenerateComponent instance = new DocumentGenerateComponent();
 
     /**
-     * テンプレートキャッシュ.
+     * 機能ドキュメントのテンプレート種別.
      */
-    private static Map<String, Mustache> templateCache = new ConcurrentHashMap<>();
+    private static final String FUNCTION_TEMPLATE = "function";
 
-    static {
-        MustacheFactory mf = new DefaultMustacheFactory();
-        Mustache m_ja = mf.compile("function-ja_JP.mustache");
-        Mustache m_en = mf.compile("function-en_US.mustache");
-        templateCache.put(Locale.JAPAN.toString(), m_ja);
-        templateCache.put(Locale.US.toString(), m_en);
-    }
+    /**
+     * 索引のテンプレート種別.
+     */
+    private static final String INDEX_TEMPLATE = "index";
+
+    /**
+     * Flowドキュメントのテンプレート種別.
+     */
+    private static final String FLOW_TEMPLATE = "flow";
+
+    /**
+     * コマンドドキュメントのテンプレート種別.
+     */
+    private static final String COMMAND_TEMPLATE = "command";
+
+    /**
+     * 設定ドキュメントのテンプレート種別.
+     */
+    private static final String CONFIGURATION_TEMPLATE = "configuration";
+
+    /**
+     * ファイル名に利用できない文字.
+     */
+    private static final Pattern UNSAFE_FILE_NAME = Pattern.compile("[^A-Za-z0-9._-]");
 
     /**
      * プライベートコンストラクタ.
@@ -64,7 +105,11 @@ public final class DocumentGenerateComponent implements Component {
      */
     public void execute(DevGeneratorContext context) {
 
-        createFunctionDocument(context);
+        if (context.getExecuteOptions().isEntityDocuments()) {
+            createEntityDocuments(context);
+        } else {
+            createFunctionDocument(context);
+        }
 
     }
 
@@ -74,33 +119,251 @@ public final class DocumentGenerateComponent implements Component {
      * @param context コンテキスト
      */
     private void createFunctionDocument(DevGeneratorContext context) {
-        for (Map.Entry<String, FunctionModel> entry : context.getFunctionModelMap().entrySet()) {
-            Locale l = new Locale(entry.getKey().split("_")[0], entry.getKey().split("_")[1]);
-            Mustache template = null;
-            if (templateCache.containsKey(l.toString())) {
-                template = templateCache.get(l.toString());
-            } else {
-                throw new RuntimeException("未対応のロケールです:" + l.toString());
+        LocaleTaskUtils.forEachLocale(context, "document.locale", (lang, functionModel) -> {
+            Path documentFile = Paths.get(context.getExecuteOptions().getDocOutput(),
+                    context.getSpec().getInfo().getName() + "_spec_" + lang + ".md");
+            SectionFingerprintUtils.putTemplate(context, lang,
+                    TemplateRegistry.getInstance().getTemplateHash(context, FUNCTION_TEMPLATE, lang));
+            if (SectionFingerprintUtils.isUpToDate(context, SectionFingerprintUtils.OUTPUT_DOCUMENT, lang,
+                    Collections.singletonList(documentFile))) {
+                return;
             }
-            try (StringWriter sw = new StringWriter()) {
-                template.execute(sw, entry.getValue());
-                sw.flush();
-                FileUtils.write(
-                        new File(context.getExecuteOptions().getDocOutput(),
-                                context.getSpec().getInfo().getName() + "_spec_" + l.toString() + ".md"),
-                        sw.toString(), "UTF-8");
-            } catch (IOException e) {
+            render(context, TemplateRegistry.getInstance().getTemplate(context, FUNCTION_TEMPLATE, lang),
+                    functionModel, documentFile);
+        });
+    }
 
+    /**
+     * 出力ファイルの書き込みを依頼し、書き込み時にテンプレートをレンダリング.
+     * <p>
+     * レンダリング結果はUTF-8で出力ファイルの一時ファイルへ直接書き込まれ、内容に変更がある場合のみ出力ファイルが置き換えられる.
+     *
+     * @param context コンテキスト
+     * @param template テンプレート
+     * @param scope テンプレートへ渡すモデル
+     * @param outputFile 出力ファイル
+     */
+    private void render(DevGeneratorContext context, Mustache template, Object scope, Path outputFile) {
+        OutputWriteComponent.getInstance().submit(context, outputFile, os -> {
+            try (Measurement m = MetricsUtils.start(context, "document.render")) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8));
+                template.execute(writer, scope);
+                writer.flush();
+            } catch (MustacheException e) {
+                throw new IOException("fail render document. path:" + outputFile.toString(), e);
             }
+        });
+    }
+
+    /**
+     * Flow・コマンド・設定毎のドキュメントと索引を出力.
+     * <p>
+     * Locale毎の処理はLocale並列数に従って実行し、各ドキュメントの書き込みは出力スレッドへ依頼する.
+     * 各ドキュメントは対象のモデルのフィンガープリントが前回の生成から変わっていない場合、レンダリングを省略する.
+     *
+     * @param context コンテキスト
+     */
+    private void createEntityDocuments(DevGeneratorContext context) {
+        LocaleTaskUtils.forEachLocale(context, "document.locale", (lang, functionModel) -> {
+            Path documentDir = Paths.get(context.getExecuteOptions().getDocOutput(),
+                    context.getSpec().getInfo().getName() + "_spec_" + lang);
+            Map<String, Object> index = new HashMap<>();
+            index.put("labelName", functionModel.getLabelName());
+            index.put("name", functionModel.getName());
+            index.put("customPackage", functionModel.getCustomPackage());
+            index.put("summary", functionModel.getSummary());
+            index.put("description", functionModel.getDescription());
+            index.put("flows", createFlow(context, lang, documentDir, functionModel));
+            index.put("commands", createCommand(context, lang, documentDir, functionModel));
+            index.put("configurations", createConfiguration(context, lang, documentDir, functionModel));
+            index.put("messages", functionModel.getMessages().values());
+            Path indexFile = documentDir.resolve("index.md");
+            SectionFingerprintUtils.putTemplate(context, lang,
+                    TemplateRegistry.getInstance().getTemplateHash(context, INDEX_TEMPLATE, lang));
+            if (!SectionFingerprintUtils.isUpToDate(context, SectionFingerprintUtils.OUTPUT_DOCUMENT, lang,
+                    Collections.singletonList(indexFile))) {
+                render(context, getTemplate(context, INDEX_TEMPLATE, lang), index, indexFile);
+            }
+        });
+    }
+
+    /**
+     * Flow毎のドキュメントを出力.
+     *
+     * @param context コンテキスト
+     * @param lang Locale文字列
+     * @param documentDir ドキュメントの出力先
+     * @param functionModel 機能出力モデル
+     * @return 索引の項目
+     */
+    private List<Map<String, Object>> createFlow(DevGeneratorContext context, String lang, Path documentDir,
+            FunctionModel functionModel) {
+        return createEntities(context, lang, documentDir, FLOW_TEMPLATE, functionModel.getFlows().values(),
+                FlowModel::getId, FingerprintBuilder::add);
+    }
+
+    /**
+     * コマンド毎のドキュメントを出力.
+     *
+     * @param context コンテキスト
+     * @param lang Locale文字列
+     * @param documentDir ドキュメントの出力先
+     * @param functionModel 機能出力モデル
+     * @return 索引の項目
+     */
+    private List<Map<String, Object>> createCommand(DevGeneratorContext context, String lang, Path documentDir,
+            FunctionModel functionModel) {
+        return createEntities(context, lang, documentDir, COMMAND_TEMPLATE, functionModel.getCommands().values(),
+                CommandModel::getId, FingerprintBuilder::add);
+    }
+
+    /**
+     * 設定毎のドキュメントを出力.
+     *
+     * @param context コンテキスト
+     * @param lang Locale文字列
+     * @param documentDir ドキュメントの出力先
+     * @param functionModel 機能出力モデル
+     * @return 索引の項目
+     */
+    private List<Map<String, Object>> createConfiguration(DevGeneratorContext context, String lang,
+            Path documentDir, FunctionModel functionModel) {
+        return createEntities(context, lang, documentDir, CONFIGURATION_TEMPLATE,
+                functionModel.getConfigurations().values(), ConfigurationModel::getId, FingerprintBuilder::add);
+    }
+
+    /**
+     * モデル毎のドキュメントを出力し、索引の項目を作成.
+     * <p>
+     * ドキュメントは「テンプレート種別 + s」のディレクトリへ出力し、今回出力しないドキュメント（削除されたモデルのもの）は削除する.
+     *
+     * @param context コンテキスト
+     * @param lang Locale文字列
+     * @param documentDir ドキュメントの出力先
+     * @param kind テンプレート種別
+     * @param models モデル
+     * @param id IDの取得処理
+     * @param digest フィンガープリントへのモデルの追加処理
+     * @param <M> モデルの型
+     * @return 索引の項目（モデルと索引からの相対パス）
+     */
+    private <M> List<Map<String, Object>> createEntities(DevGeneratorContext context, String lang, Path documentDir,
+            String kind, Collection<M> models, Function<M, String> id, BiConsumer<FingerprintBuilder, M> digest) {
+        String dirName = kind + "s";
+        Map<String, String> fileNames = createFileNames(models.stream().map(id).collect(Collectors.toList()));
+        List<Map<String, Object>> items = new ArrayList<>(models.size());
+        for (M model : models) {
+            String path = dirName + "/" + fileNames.get(id.apply(model));
+            Map<String, Object> item = new HashMap<>();
+            item.put("model", model);
+            item.put("path", path);
+            items.add(item);
+            renderIfChanged(context, kind, lang, model, digest, documentDir.resolve(path));
+        }
+        deleteStaleDocuments(documentDir.resolve(dirName), fileNames.values());
+        return items;
+    }
+
+    /**
+     * IDからドキュメントのファイル名を作成.
+     * <p>
+     * ファイル名に利用できない文字は「_」に置き換える. 置き換えや大文字・小文字の違いで他のIDと同じファイル名となる場合、
+     * 置き換えの不要なIDを除き、IDのハッシュ値の先頭8桁を付与して区別する.
+     *
+     * @param ids ID
+     * @return IDとファイル名のマップ
+     */
+    static Map<String, String> createFileNames(Collection<String> ids) {
+        Map<String, List<String>> groups = ids.stream()
+                .sorted()
+                .collect(Collectors.groupingBy(x -> toFileName(x).toLowerCase(Locale.ROOT), LinkedHashMap::new,
+                        Collectors.toList()));
+        Map<String, String> fileNames = new HashMap<>();
+        for (List<String> group : groups.values()) {
+            String plain = group.size() == 1 ? group.get(0)
+                    : group.stream().filter(x -> x.equals(toFileName(x))).findFirst().orElse(null);
+            for (String id : group) {
+                String fileName = toFileName(id);
+                if (!id.equals(plain)) {
+                    fileName += "_" + HashUtils.hash(id.getBytes(StandardCharsets.UTF_8)).substring(0, 8);
+                }
+                fileNames.put(id, fileName + ".md");
+            }
+        }
+        return fileNames;
+    }
+
+    /**
+     * ファイル名に利用できない文字を置き換え.
+     *
+     * @param id ID
+     * @return 拡張子を除いたファイル名
+     */
+    private static String toFileName(String id) {
+        return UNSAFE_FILE_NAME.matcher(id).replaceAll("_");
+    }
+
+    /**
+     * ディレクトリ配下のドキュメントのうち、今回出力しないものを削除.
+     *
+     * @param dir ドキュメントのディレクトリ
+     * @param fileNames 今回出力するドキュメントのファイル名
+     */
+    private void deleteStaleDocuments(Path dir, Collection<String> fileNames) {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        Set<String> current = new HashSet<>(fileNames);
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                String fileName = file.getFileName().toString();
+                if (fileName.endsWith(".md") && !fileName.startsWith(".") && !current.contains(fileName)
+                        && Files.isRegularFile(file)) {
+                    Files.delete(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new GeneratorException("fail delete stale document. path:" + dir.toString(), e);
         }
     }
 
-    private String createConfiguration() {
-        return null;
+    /**
+     * モデルのフィンガープリントが前回の生成から変わっている場合のみドキュメントをレンダリング.
+     * <p>
+     * フィンガープリントはモデルのフィールドと解決したテンプレートのハッシュ値から作成し、テンプレートの変更でも再生成する.
+     *
+     * @param context コンテキスト
+     * @param kind テンプレート種別
+     * @param lang Locale文字列
+     * @param model モデル
+     * @param digest フィンガープリントへのモデルの追加処理
+     * @param outputFile 出力ファイル
+     * @param <M> モデルの型
+     */
+    private <M> void renderIfChanged(DevGeneratorContext context, String kind, String lang, M model,
+            BiConsumer<FingerprintBuilder, M> digest, Path outputFile) {
+        String key = outputFile.toString();
+        FingerprintBuilder builder = new FingerprintBuilder();
+        digest.accept(builder, model);
+        String fingerprint = builder.add(TemplateRegistry.getInstance().getTemplateHash(context, kind, lang)).build();
+        context.getFingerprints().put(key, fingerprint);
+        if (fingerprint.equals(context.getPreviousFingerprints().get(key)) && Files.exists(outputFile)) {
+            context.addOutputFile(key, false);
+            return;
+        }
+        render(context, getTemplate(context, kind, lang), model, outputFile);
     }
 
-    private String createFlow() {
-        return null;
+    /**
+     * テンプレートを取得.
+     *
+     * @param context コンテキスト
+     * @param kind テンプレート種別
+     * @param lang Locale文字列
+     * @return テンプレート
+     */
+    private Mustache getTemplate(DevGeneratorContext context, String kind, String lang) {
+        return TemplateRegistry.getInstance().getTemplate(context, kind, lang);
     }
 
 }
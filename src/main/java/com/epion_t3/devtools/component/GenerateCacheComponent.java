@@ -0,0 +1,236 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.component;
+
+import com.epion_t3.devtools.bean.DevGeneratorContext;
+import com.epion_t3.devtools.bean.ExecuteOptions;
+import com.epion_t3.devtools.exception.GeneratorException;
+import com.epion_t3.devtools.util.HashUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * 差分生成のためのキャッシュコンポーネント.
+ * <p>
+ * 設計ファイルのハッシュ値、テンプレート及びツールのバージョン、出力先をマニフェストとして出力先の隣に保存し、
+ * 前回の生成から変化が無い場合に解析・生成処理をスキップできるか判定する.
+ *
+ * @author takashno
+ */
+@Slf4j
+public final class GenerateCacheComponent implements Component {
+
+    /**
+     * シングルトンインスタンス.
+     */
+    private static final GenerateCacheComponent instance = new GenerateCacheComponent();
+
+    /**
+     * キャッシュマニフェストの格納ディレクトリ名.
+     */
+    private static final String CACHE_DIR_NAME = ".et3-devtools-cache";
+
+    private static final String KEY_SPEC_PATH = "spec.path";
+    private static final String KEY_SPEC_HASH = "spec.hash";
+    private static final String KEY_TOOL_VERSION = "tool.version";
+    private static final String KEY_TEMPLATE_PREFIX = "template.";
+    private static final String KEY_OPTION_MESSAGE_OUTPUT = "option.messageOutput";
+    private static final String KEY_OPTION_JAVA_OUTPUT = "option.javaOutput";
+    private static final String KEY_OPTION_DOC_OUTPUT = "option.docOutput";
+    private static final String KEY_OPTION_RESOURCE_BUNDLE = "option.resourceBundle";
+    private static final String KEY_OPTION_ENTITY_DOCUMENTS = "option.entityDocuments";
+    private static final String KEY_OPTION_PRIMARY_LOCALE = "option.primaryLocale";
+    private static final String KEY_OPTION_ENUM_SHARD_SIZE = "option.enumShardSize";
+    private static final String KEY_OUTPUT_PREFIX = "output.";
+    private static final String KEY_FINGERPRINT_PREFIX = "fingerprint.";
+
+    /**
+     * ツールのバージョン.
+     */
+    private static final String TOOL_VERSION = Objects.toString(
+            GenerateCacheComponent.class.getPackage().getImplementationVersion(), "unknown");
+
+    /**
+     * プライベートコンストラクタ.
+     */
+    private GenerateCacheComponent() {
+        // Do Nothing...
+    }
+
+    /**
+     * シングルトンインスタンスを取得.
+     *
+     * @return シングルトンインスタンス
+     */
+    public static GenerateCacheComponent getInstance() {
+        return instance;
+    }
+
+    /**
+     * 前回の生成結果が有効であるか判定.
+     * <p>
+     * 判定に利用した設計ファイルのハッシュ値はコンテキストに保持し、生成後のマニフェスト保存に利用する.
+     * テンプレートは前回の生成で解決したものを現在の状態で解決し直して比較するため、内容の変更に加えて
+     * 優先度の高いテンプレートの追加やフォールバック先の変化も検知する.
+     * 設計ファイル・ドキュメントのテンプレートのみが変更されている場合は、前回の出力毎のフィンガープリントを
+     * コンテキストへ読み込む.
+     *
+     * @param context コンテキスト
+     * @return 設計ファイル・テンプレート・ツール・出力先に変化が無く、出力ファイルが全て存在する場合true
+     */
+    public boolean isUpToDate(DevGeneratorContext context) {
+
+        ExecuteOptions executeOptions = context.getExecuteOptions();
+        Path manifestPath = resolveManifestPath(executeOptions);
+        if (manifestPath == null) {
+            return false;
+        }
+
+        Path specFile = Paths.get(executeOptions.getTarget());
+        if (Files.notExists(specFile)) {
+            return false;
+        }
+
+        try {
+            context.setSpecHash(HashUtils.hash(specFile));
+        } catch (IOException e) {
+            throw new GeneratorException("fail read spec file. path:" + specFile.toString(), e);
+        }
+
+        if (executeOptions.isForce() || Files.notExists(manifestPath)) {
+            return false;
+        }
+
+        Properties manifest = new Properties();
+        try (InputStream is = Files.newInputStream(manifestPath)) {
+            manifest.load(is);
+        } catch (IOException e) {
+            log.warn("fail read cache manifest. ignore cache. path:{}", manifestPath, e);
+            return false;
+        }
+
+        List<String> changed = createManifest(context).entrySet()
+                .stream()
+                .filter(x -> !x.getValue().equals(manifest.get(x.getKey())))
+                .map(x -> x.getKey().toString())
+                .collect(Collectors.toList());
+
+        List<String> changedTemplates = manifest.stringPropertyNames()
+                .stream()
+                .filter(x -> x.startsWith(KEY_TEMPLATE_PREFIX))
+                .filter(x -> !manifest.getProperty(x)
+                        .equals(TemplateRegistry.getInstance()
+                                .resolveTemplateHash(executeOptions.getTemplateDir(),
+                                        x.substring(KEY_TEMPLATE_PREFIX.length()))))
+                .collect(Collectors.toList());
+
+        // ツール・出力先が同じであれば、前回のフィンガープリントで出力単位の再生成を判定できる
+        // （ドキュメントのテンプレートはフィンガープリントに含まれるため、変更されていても判定できる）
+        if ((changed.isEmpty() || changed.equals(Collections.singletonList(KEY_SPEC_HASH)))
+                && changedTemplates.stream().allMatch(TemplateRegistry.getInstance()::isLocaleTemplateKey)) {
+            manifest.stringPropertyNames()
+                    .stream()
+                    .filter(x -> x.startsWith(KEY_FINGERPRINT_PREFIX))
+                    .forEach(x -> context.getPreviousFingerprints()
+                            .put(x.substring(KEY_FINGERPRINT_PREFIX.length()), manifest.getProperty(x)));
+        }
+        if (!changed.isEmpty() || !changedTemplates.isEmpty()) {
+            return false;
+        }
+
+        // 出力ファイルが削除されている場合は再生成する
+        return manifest.stringPropertyNames()
+                .stream()
+                .filter(x -> x.startsWith(KEY_OUTPUT_PREFIX))
+                .map(manifest::getProperty)
+                .allMatch(x -> Files.exists(Paths.get(x)));
+    }
+
+    /**
+     * キャッシュマニフェストを保存.
+     *
+     * @param context コンテキスト
+     */
+    @Override
+    public void execute(DevGeneratorContext context) {
+
+        Path manifestPath = resolveManifestPath(context.getExecuteOptions());
+        if (manifestPath == null || StringUtils.isEmpty(context.getSpecHash())) {
+            return;
+        }
+
+        Properties manifest = createManifest(context);
+        List<String> outputFiles = context.getOutputFiles().stream().distinct().collect(Collectors.toList());
+        for (int i = 0; i < outputFiles.size(); i++) {
+            manifest.setProperty(KEY_OUTPUT_PREFIX + i, outputFiles.get(i));
+        }
+        context.getTemplateHashes().forEach((key, value) -> manifest.setProperty(KEY_TEMPLATE_PREFIX + key, value));
+        context.getFingerprints().forEach((key, value) -> manifest.setProperty(KEY_FINGERPRINT_PREFIX + key, value));
+
+        try {
+            Files.createDirectories(manifestPath.getParent());
+            try (OutputStream os = Files.newOutputStream(manifestPath)) {
+                manifest.store(os, " Generated by epion-t3-devtools");
+            }
+        } catch (IOException e) {
+            throw new GeneratorException("fail output cache manifest. path:" + manifestPath.toString(), e);
+        }
+    }
+
+    /**
+     * 出力ファイルを除いたマニフェストを作成.
+     *
+     * @param context コンテキスト
+     * @return マニフェスト
+     */
+    private Properties createManifest(DevGeneratorContext context) {
+        ExecuteOptions executeOptions = context.getExecuteOptions();
+        Properties manifest = new Properties();
+        manifest.setProperty(KEY_SPEC_PATH, Paths.get(executeOptions.getTarget()).toAbsolutePath().toString());
+        manifest.setProperty(KEY_SPEC_HASH, context.getSpecHash());
+        manifest.setProperty(KEY_TOOL_VERSION, TOOL_VERSION);
+        manifest.setProperty(KEY_OPTION_MESSAGE_OUTPUT, StringUtils.defaultString(executeOptions.getMessageOutput()));
+        manifest.setProperty(KEY_OPTION_JAVA_OUTPUT, StringUtils.defaultString(executeOptions.getJavaOutput()));
+        manifest.setProperty(KEY_OPTION_DOC_OUTPUT, StringUtils.defaultString(executeOptions.getDocOutput()));
+        manifest.setProperty(KEY_OPTION_RESOURCE_BUNDLE, String.valueOf(executeOptions.isResourceBundle()));
+        manifest.setProperty(KEY_OPTION_ENTITY_DOCUMENTS, String.valueOf(executeOptions.isEntityDocuments()));
+        manifest.setProperty(KEY_OPTION_PRIMARY_LOCALE, StringUtils.defaultString(executeOptions.getPrimaryLocale()));
+        manifest.setProperty(KEY_OPTION_ENUM_SHARD_SIZE, String.valueOf(executeOptions.getEnumShardSize()));
+        return manifest;
+    }
+
+    /**
+     * キャッシュマニフェストのパスを解決.
+     * <p>
+     * 設計ファイル毎に1ファイルとするため、バッチ実行時に同じ出力先を共有しても競合しない.
+     *
+     * @param executeOptions 実行オプション
+     * @return キャッシュマニフェストのパス（出力先が無い場合はnull）
+     */
+    private Path resolveManifestPath(ExecuteOptions executeOptions) {
+        String cacheDir = StringUtils.firstNonEmpty(executeOptions.getCacheDir(), executeOptions.getMessageOutput(),
+                executeOptions.getDocOutput(), executeOptions.getJavaOutput());
+        if (StringUtils.isEmpty(cacheDir) || StringUtils.isEmpty(executeOptions.getTarget())) {
+            return null;
+        }
+        String specKey = HashUtils.hash(Paths.get(executeOptions.getTarget())
+                .toAbsolutePath()
+                .normalize()
+                .toString()
+                .getBytes(StandardCharsets.UTF_8));
+        return Paths.get(cacheDir, CACHE_DIR_NAME, specKey + ".properties");
+    }
+
+}
@@ -5,6 +5,11 @@ import com.epion_t3.devtools.bean.DevGeneratorContext;
 import com.epion_t3.devtools.bean.FunctionModel;
 import com.epion_t3.devtools.bean.Property;
 import com.epion_t3.devtools.exception.GeneratorException;
+import com.epion_t3.devtools.util.LocaleTaskUtils;
+import com.epion_t3.devtools.util.MetricsUtils;
+import com.epion_t3.devtools.util.MetricsUtils.Measurement;
+import com.epion_t3.devtools.util.SectionFingerprintUtils;
+import com.github.mustachejava.MustacheException;
 import com.zomu_t.lib.java.generate.common.context.GenerateContext;
 import com.zomu_t.lib.java.generate.common.context.GenerateTarget;
 import com.zomu_t.lib.java.generate.common.type.DefaultTemplate;
@@ -14,17 +19,30 @@ import com.zomu_t.lib.java.generate.java8.type.AccessModifier;
 import com.zomu_t.lib.java.generate.java8.type.ClassKind;
 import com.zomu_t.lib.java.generate.java8.type.FieldModifier;
 import com.zomu_t.lib.java.generate.java8.util.TypeUtils;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.text.StringEscapeUtils;
 import org.apache.commons.text.WordUtils;
 
+import javax.lang.model.SourceVersion;
 import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * message.properties、Messages.javaの出力コンポーネント.
@@ -38,6 +56,21 @@ public final class MessageGenerateComponent implements Component {
      */
     private static MessageGenerateComponent instance = new MessageGenerateComponent();
 
+    /**
+     * メッセージコードの索引クラスのテンプレート.
+     */
+    private static final String LOOKUP_TEMPLATE = "messages-lookup.mustache";
+
+    /**
+     * コンパイル済リソースバンドルのテンプレート.
+     */
+    private static final String BUNDLE_TEMPLATE = "messages-bundle.mustache";
+
+    /**
+     * コンパイル済リソースバンドルの1クラスに含めるメッセージ数.
+     */
+    private static final int BUNDLE_PART_SIZE = 500;
+
     /**
      * プライベートコンストラクタ.
      */
@@ -61,132 +94,632 @@ public final class MessageGenerateComponent implements Component {
      */
     public void execute(DevGeneratorContext context) {
 
-        // ENUMの列挙子のためにハイフンをアンダースコアにする
-        String customNameForJava = context.getSpec().getInfo().getName().replace("-", "_");
+        // messages.propertiesはLocale毎に独立しているため並列に出力できる
+        LocaleTaskUtils.forEachLocale(context, "message.locale", (lang, functionModel) -> {
+            Path propertiesFile = Paths.get(context.getExecuteOptions().getMessageOutput(),
+                    getPropertiesFileName(context, lang));
+            if (!SectionFingerprintUtils.isUpToDate(context, SectionFingerprintUtils.OUTPUT_PROPERTIES, lang,
+                    Collections.singletonList(propertiesFile))) {
+                OutputWriteComponent.getInstance().submit(context, propertiesFile, os -> {
+                    try (Measurement m = MetricsUtils.start(context, "message.properties")) {
+                        writeProperties(functionModel, os);
+                    }
+                });
+            }
 
-        // アッパースネークケースをクラス名としてアッパーキャメルにする
-        String customNameForClassName = Arrays.stream(customNameForJava.split("_"))
-                .map(x -> StringUtils.capitalize(x))
-                .collect(Collectors.joining());
+            // コンパイル済リソースバンドル
+            if (context.getExecuteOptions().isResourceBundle()) {
+                generateBundle(context, lang, functionModel);
+            }
+        });
 
-        for (Map.Entry<String, FunctionModel> entry : context.getFunctionModelMap().entrySet()) {
+        // Messages.javaは全Localeのメッセージキーから1度だけ出力する
+        try (Measurement m = MetricsUtils.start(context, "message.enum")) {
+            generateEnum(context, m);
+        }
 
-            // プロパティ作成
-            Properties props = new Properties();
-            for (Property property : entry.getValue().getMessages().values()) {
-                props.put(property.getKey(), property.getValue());
+    }
+
+    /**
+     * messages.propertiesのファイル名を取得.
+     *
+     * @param context コンテキスト
+     * @param lang Locale文字列
+     * @return ファイル名
+     */
+    public String getPropertiesFileName(DevGeneratorContext context, String lang) {
+        return context.getSpec().getInfo().getName() + "_messages_" + lang + ".properties";
+    }
+
+    /**
+     * messages.propertiesの内容を出力.
+     *
+     * @param functionModel 機能モデル
+     * @param os 出力ストリーム
+     * @throws IOException I/O例外
+     */
+    public void writeProperties(FunctionModel functionModel, OutputStream os) throws IOException {
+        storeProperties(createProperties(functionModel), os);
+    }
+
+    /**
+     * Messages.javaの完全修飾クラス名を取得.
+     * <p>
+     * メッセージ数が分割単位を超える場合は分割したEnum毎のクラス名を返却する.
+     * 先頭のEnumは分割の有無に関わらず同じクラス名となるが、列挙子がどのEnumに属するかは分割数によって変わるため、
+     * 利用側は分割に依存しない索引クラスから列挙子を取得すること.
+     *
+     * @param context コンテキスト
+     * @return 完全修飾クラス名（分割したEnumの順）
+     */
+    public List<String> getEnumClassNames(DevGeneratorContext context) {
+        int shardCount = splitMessageDocs(context).size();
+        List<String> classNames = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            classNames.add(getEnumPackageName(context) + "." + getEnumSimpleName(context, shard));
+        }
+        return classNames;
+    }
+
+    /**
+     * コンパイル済リソースバンドルの基底名を取得.
+     * <p>
+     * 機能名はハイフン等を含みJavaのクラス名に利用できない場合があるため、messages.propertiesとは別の基底名とし、
+     * Messages.javaと同じパッケージに「&lt;Enumのクラス名&gt;Bundle」として作成する.
+     * 利用側は{@code ResourceBundle.getBundle}にこの基底名（例：com.epion_t3.basic.messages.BasicMessagesBundle）を指定する.
+     *
+     * @param context コンテキスト
+     * @return 基底名（完全修飾クラス名）
+     */
+    public String getBundleBaseName(DevGeneratorContext context) {
+        return getEnumPackageName(context) + "." + getEnumSimpleName(context, 0) + "Bundle";
+    }
+
+    /**
+     * コンパイル済リソースバンドルの完全修飾クラス名を取得.
+     *
+     * @param context コンテキスト
+     * @param lang Locale文字列
+     * @return 完全修飾クラス名（基底名_Locale文字列）
+     */
+    public String getBundleClassName(DevGeneratorContext context, String lang) {
+        String className = getBundleBaseName(context) + "_" + lang;
+        if (!SourceVersion.isName(className)) {
+            throw new GeneratorException("resource bundle class name is not java identifier. name:" + className);
+        }
+        return className;
+    }
+
+    /**
+     * コンパイル済リソースバンドルの内容を出力.
+     * <p>
+     * 実行時にmessages.propertiesの解析を不要とするため、Locale毎のメッセージをListResourceBundleのサブクラスとして出力する.
+     * メソッドサイズと定数プールの上限を超えないよう、メッセージは一定数毎に別のネストクラスへ分割する.
+     *
+     * @param context コンテキスト
+     * @param lang Locale文字列
+     * @param functionModel 機能モデル
+     * @param writer 出力先
+     * @throws IOException I/O例外
+     */
+    public void writeBundle(DevGeneratorContext context, String lang, FunctionModel functionModel, Writer writer)
+            throws IOException {
+        List<Map<String, Object>> parts = new ArrayList<>();
+        List<Map<String, String>> entries = null;
+        int size = 0;
+        for (Property property : new TreeMap<>(functionModel.getMessages()).values()) {
+            if (entries == null || entries.size() >= BUNDLE_PART_SIZE) {
+                entries = new ArrayList<>();
+                Map<String, Object> part = new HashMap<>();
+                part.put("index", parts.size());
+                part.put("entries", entries);
+                parts.add(part);
             }
-            try (FileOutputStream fos = new FileOutputStream(new File(context.getExecuteOptions().getMessageOutput(),
-                    context.getSpec().getInfo().getName() + "_messages_" + entry.getKey() + ".properties"));) {
-                props.store(fos, " Generated by epion-t3-devtools");
+            Map<String, String> entry = new HashMap<>();
+            entry.put("key", StringEscapeUtils.escapeJava(property.getKey()));
+            entry.put("value", StringEscapeUtils.escapeJava(property.getValue()));
+            entries.add(entry);
+            size++;
+        }
+        Map<String, Object> scope = new HashMap<>();
+        String className = getBundleClassName(context, lang);
+        scope.put("packageName", getEnumPackageName(context));
+        scope.put("className", className.substring(className.lastIndexOf('.') + 1));
+        scope.put("baseName", getBundleBaseName(context));
+        scope.put("name", context.getSpec().getInfo().getName());
+        scope.put("lang", lang);
+        scope.put("size", size);
+        scope.put("parts", parts);
+        try {
+            TemplateRegistry.getInstance().getTemplate(context, BUNDLE_TEMPLATE).execute(writer, scope);
+            writer.flush();
+        } catch (MustacheException e) {
+            throw new IOException("fail render resource bundle.", e);
+        }
+    }
+
+    /**
+     * コンパイル済リソースバンドルの出力.
+     *
+     * @param context コンテキスト
+     * @param lang Locale文字列
+     * @param functionModel 機能モデル
+     */
+    private void generateBundle(DevGeneratorContext context, String lang, FunctionModel functionModel) {
+        String javaOutput = StringUtils.defaultIfEmpty(context.getExecuteOptions().getJavaOutput(), "./");
+        Path bundleJava = Paths.get(javaOutput, getBundleClassName(context, lang).replace(".", "/") + ".java");
+        // 再生成を省略する場合もテンプレートの変更を検知できるよう、ハッシュ値を記録する
+        TemplateRegistry.getInstance().getTemplateHash(context, BUNDLE_TEMPLATE);
+        if (SectionFingerprintUtils.isUpToDate(context, SectionFingerprintUtils.OUTPUT_BUNDLE, lang,
+                Collections.singletonList(bundleJava))) {
+            return;
+        }
+        OutputWriteComponent.getInstance().submit(context, bundleJava, os -> {
+            try (Measurement m = MetricsUtils.start(context, "message.bundle");
+                    Writer writer = new OutputStreamWriter(new CloseShieldOutputStream(os), StandardCharsets.UTF_8)) {
+                writeBundle(context, lang, functionModel, writer);
+            }
+        });
+    }
+
+    /**
+     * メッセージコードの索引クラスの完全修飾クラス名を取得.
+     *
+     * @param context コンテキスト
+     * @return 完全修飾クラス名
+     */
+    public String getLookupClassName(DevGeneratorContext context) {
+        return getEnumPackageName(context) + "." + getLookupSimpleName(context);
+    }
+
+    /**
+     * Messages.javaの出力.
+     *
+     * @param context コンテキスト
+     * @param measurement 計測（出力スレッドでの内容の作成をフェーズへ合算する）
+     */
+    private void generateEnum(DevGeneratorContext context, Measurement measurement) {
+
+        // Enum Messages.java の出力パス解決
+        String enumJavaOutputDir = null;
+
+        if (StringUtils.isEmpty(context.getExecuteOptions().getJavaOutput())) {
+            enumJavaOutputDir = "./";
+        } else {
+            enumJavaOutputDir = context.getExecuteOptions().getJavaOutput();
+        }
+
+        enumJavaOutputDir = enumJavaOutputDir + getEnumPackageName(context).replace(".", "/");
+
+        Path parentDir = Paths.get(enumJavaOutputDir);
+        if (!Files.exists(parentDir)) {
+            try {
+                Files.createDirectories(parentDir);
             } catch (IOException e) {
-                throw new GeneratorException("fail output messages.properties.", e);
+                throw new GeneratorException(
+                        "fail output Messages.java parent directory. path:" + parentDir.toString(), e);
             }
+        }
 
-            // Enum Messages.java の出力パス解決
-            String enumJavaOutputDir = null;
+        List<Map<String, String>> shards = splitMessageDocs(context);
+        SectionFingerprintUtils.putMessageDocs(context, shards);
+
+        // ファイルパス
+        List<Path> enumJavas = new ArrayList<>(shards.size());
+        for (int shard = 0; shard < shards.size(); shard++) {
+            enumJavas.add(Paths.get(parentDir.toString(), getEnumSimpleName(context, shard) + ".java"));
+        }
+        Path lookupJava = Paths.get(parentDir.toString(), getLookupSimpleName(context) + ".java");
+
+        // 分割数の変化により生成されなくなったEnumを削除
+        deleteStaleEnums(context, parentDir, enumJavas);
+
+        // 他のLocaleで補完した列挙子のJavaDocと分割に変更が無ければ再生成しない
+        List<Path> outputFiles = new ArrayList<>(enumJavas);
+        outputFiles.add(lookupJava);
+        TemplateRegistry.getInstance().getTemplateHash(context, LOOKUP_TEMPLATE);
+        if (SectionFingerprintUtils.isUpToDate(context, SectionFingerprintUtils.OUTPUT_ENUM,
+                resolvePrimaryLocale(context), outputFiles)) {
+            return;
+        }
 
-            if (StringUtils.isEmpty(context.getExecuteOptions().getJavaOutput())) {
-                enumJavaOutputDir = "./";
-            } else {
-                enumJavaOutputDir = context.getExecuteOptions().getJavaOutput();
+        for (int i = 0; i < shards.size(); i++) {
+            int shard = i;
+            OutputWriteComponent.getInstance().submit(context, enumJavas.get(shard), os -> {
+                try (Measurement m = measurement.worker();
+                        Writer writer = new OutputStreamWriter(new CloseShieldOutputStream(os),
+                        Charset.defaultCharset())) {
+                    writeEnum(context, shards, shard, writer);
+                }
+            });
+        }
+
+        // メッセージコードの索引クラス
+        OutputWriteComponent.getInstance().submit(context, lookupJava, os -> {
+            try (Measurement m = measurement.worker();
+                    Writer writer = new OutputStreamWriter(new CloseShieldOutputStream(os), Charset.defaultCharset())) {
+                writeLookup(context, shards, writer);
             }
+        });
 
-            enumJavaOutputDir = enumJavaOutputDir + context.getSpec().getInfo().getCustomPackage().replace(".", "/")
-                    + "/messages";
+    }
 
-            Path parentDir = Paths.get(enumJavaOutputDir);
-            if (!Files.exists(parentDir)) {
-                try {
-                    Files.createDirectories(parentDir);
-                } catch (IOException e) {
-                    throw new GeneratorException(
-                            "fail output Messages.java parent directory. path:" + parentDir.toString(), e);
+    /**
+     * 前回までの生成で出力し、今回の分割では生成しないEnumのソースを削除.
+     * <p>
+     * 分割しない場合のMessages.javaと、分割した場合の連番付きのMessages.javaのうち、今回の出力に含まれないものが対象.
+     *
+     * @param context コンテキスト
+     * @param parentDir 出力先
+     * @param enumJavas 今回出力するEnumのソース
+     */
+    private void deleteStaleEnums(DevGeneratorContext context, Path parentDir, List<Path> enumJavas) {
+        Pattern enumFileName = Pattern.compile(Pattern.quote(getEnumSimpleName(context, 0)) + "[0-9]*\\.java");
+        List<Path> fileNames = enumJavas.stream().map(Path::getFileName).collect(Collectors.toList());
+        try (Stream<Path> files = Files.list(parentDir)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                if (enumFileName.matcher(file.getFileName().toString()).matches()
+                        && !fileNames.contains(file.getFileName())) {
+                    Files.delete(file);
                 }
             }
+        } catch (IOException e) {
+            throw new GeneratorException("fail delete stale Messages.java. path:" + parentDir.toString(), e);
+        }
+    }
+
+    /**
+     * Messages.javaの内容を出力.
+     * <p>
+     * 全Localeのメッセージキーの和集合から列挙子を作成し、JavaDocには主Localeのメッセージを利用する.
+     * 主Localeで未定義のメッセージは他のLocaleのメッセージで補完する.
+     *
+     * @param context コンテキスト
+     * @param shard 分割したEnumのインデックス（getEnumClassNamesの順）
+     * @param writer 出力先
+     * @throws IOException I/O例外
+     */
+    public void writeEnum(DevGeneratorContext context, int shard, Writer writer) throws IOException {
+        writeEnum(context, splitMessageDocs(context), shard, writer);
+    }
 
-            // ファイルパス
-            Path enumJava = Paths.get(parentDir.toString(),
-                    WordUtils.capitalize(customNameForClassName) + "Messages.java");
-
-            try (FileWriter fileWriter = new FileWriter(enumJava.toFile())) {
-                // Enum作成
-                GenerateContext generateContext = new GenerateContext();
-                GenerateTarget target = generateContext.newTarget(DefaultTemplate.JAVA8);
-
-                ClassModel classModel = ClassModel.builder()
-                        // ヘッダーコメント
-                        .commentHeader("/* Generated by epion-t3-devtools */")
-                        // パッケージ
-                        .packageName(context.getSpec().getInfo().getCustomPackage() + ".messages")
-                        // JavaDoc
+    /**
+     * 分割済のメッセージからMessages.javaの内容を出力.
+     *
+     * @param context コンテキスト
+     * @param shards 分割したEnum毎のメッセージキーとJavaDocの対応
+     * @param shard 分割したEnumのインデックス
+     * @param writer 出力先
+     * @throws IOException I/O例外
+     */
+    private void writeEnum(DevGeneratorContext context, List<Map<String, String>> shards, int shard, Writer writer)
+            throws IOException {
+
+        // ENUMの列挙子のためにハイフン等をアンダースコアにする（数字で始まる場合は先頭にアンダースコアを付与する）
+        String customNameForJava = getCustomNameForJava(context);
+        if (!Character.isJavaIdentifierStart(customNameForJava.charAt(0))) {
+            customNameForJava = "_" + customNameForJava;
+        }
+
+        // メッセージキーとJavaDocの対応（キー順で出力を安定させる）
+        Map<String, String> messageDocs = shards.get(shard);
+
+        // Enum作成
+        GenerateContext generateContext = new GenerateContext();
+        GenerateTarget target = generateContext.newTarget(DefaultTemplate.JAVA8);
+
+        ClassModel classModel = ClassModel.builder()
+                // ヘッダーコメント
+                .commentHeader("/* Generated by epion-t3-devtools */")
+                // パッケージ
+                .packageName(getEnumPackageName(context))
+                // JavaDoc
+                .javaDoc(JavaDocModel.builder()
+                        .mainContent(context.getSpec().getInfo().getName() + "用メッセージ定義Enum"
+                                + (shards.size() > 1 ? "（" + (shard + 1) + "/" + shards.size() + "）" : "") + ".")
+                        .annotation(JavaDocAnnotationModel.builder()
+                                .name("author")
+                                .content("epion-t3-devtools")
+                                .build())
+                        .build())
+                // アクセス修飾子
+                .accessModifier(AccessModifier.PUBLIC)
+                // enum
+                .classKind(ClassKind.ENUM)
+                .className(getEnumSimpleName(context, shard))
+                // interface
+                .implementsClass(ClassModel.builder()
+                        .packageName("com.epion_t3.core.message")
+                        .className("Messages")
+                        .build())
+                // フィールド
+                .field(FieldModel.builder()
+                        .javaDoc(JavaDocModel.builder().mainContent("メッセージコード").build())
+                        .accessModifier(AccessModifier.PRIVATE)
+                        .fieldModifier(FieldModifier.FINAL)
+                        .type(TypeUtils.getStringClassModel())
+                        .name("messageCode")
+                        .getterAutoCreate(true)
+                        .initConstructor(true)
+                        .build())
+                // コンストラクタ
+                .constructor(ConstructorModel.builder()
                         .javaDoc(JavaDocModel.builder()
-                                .mainContent(context.getSpec().getInfo().getName() + "用メッセージ定義Enum.")
+                                .mainContent("プライベートコンストラクタ")
                                 .annotation(JavaDocAnnotationModel.builder()
-                                        .name("author")
-                                        .content("epion-t3-devtools")
-                                        .build())
-                                .build())
-                        // アクセス修飾子
-                        .accessModifier(AccessModifier.PUBLIC)
-                        // enum
-                        .classKind(ClassKind.ENUM)
-                        .className(WordUtils.capitalize(customNameForClassName) + "Messages")
-                        // interface
-                        .implementsClass(ClassModel.builder()
-                                .packageName("com.epion_t3.core.message")
-                                .className("Messages")
-                                .build())
-                        // フィールド
-                        .field(FieldModel.builder()
-                                .javaDoc(JavaDocModel.builder().mainContent("メッセージコード").build())
-                                .accessModifier(AccessModifier.PRIVATE)
-                                .fieldModifier(FieldModifier.FINAL)
-                                .type(TypeUtils.getStringClassModel())
-                                .name("messageCode")
-                                .getterAutoCreate(true)
-                                .initConstructor(true)
-                                .build())
-                        // コンストラクタ
-                        .constructor(ConstructorModel.builder()
-                                .javaDoc(JavaDocModel.builder()
-                                        .mainContent("プライベートコンストラクタ")
-                                        .annotation(JavaDocAnnotationModel.builder()
-                                                .name("param")
-                                                .content("messageCode メッセージコード")
-                                                .build())
+                                        .name("param")
+                                        .content("messageCode メッセージコード")
                                         .build())
-                                .accessModifier(AccessModifier.PRIVATE)
-                                .constructorAutoCreate(true)
                                 .build())
-                        .build();
-
-                // 列挙子
-                for (Map.Entry<Object, Object> prop : props.entrySet()) {
-                    classModel.getEnumerators()
-                            .add(EnumeratorModel.builder()
-                                    .name(customNameForJava.toUpperCase() + "_"
-                                            + prop.getKey()
-                                                    .toString()
-                                                    .replace(context.getSpec().getInfo().getCustomPackage() + ".", "")
-                                                    .replace(".", "_")
-                                                    .toUpperCase())
-                                    .value(EnumeratorValueModel.builder().value(prop.getKey().toString()).build())
-                                    .javaDoc(JavaDocModel.builder().mainContent(prop.getValue().toString()).build())
-                                    .build());
-                }
+                        .accessModifier(AccessModifier.PRIVATE)
+                        .constructorAutoCreate(true)
+                        .build())
+                .build();
 
-                target.setClazz(classModel);
+        // 列挙子
+        for (Map.Entry<String, String> messageDoc : messageDocs.entrySet()) {
+            classModel.getEnumerators()
+                    .add(EnumeratorModel.builder()
+                            .name(customNameForJava.toUpperCase() + "_"
+                                    + messageDoc.getKey()
+                                            .replace(context.getSpec().getInfo().getCustomPackage() + ".", "")
+                                            .replace(".", "_")
+                                            .toUpperCase())
+                            .value(EnumeratorValueModel.builder().value(messageDoc.getKey()).build())
+                            .javaDoc(JavaDocModel.builder().mainContent(messageDoc.getValue()).build())
+                            .build());
+        }
 
-                // 出力
-                Java8Generator converter = new Java8Generator();
-                target.setOutputWriter(fileWriter);
-                converter.generate(generateContext);
-            } catch (IOException e) {
-                throw new GeneratorException("fail output Messages.java.", e);
+        target.setClazz(classModel);
+
+        // 出力
+        target.setOutputWriter(writer);
+        new Java8Generator().generate(generateContext);
+
+    }
+
+    /**
+     * メッセージコードの索引クラスの内容を出力.
+     * <p>
+     * 列挙子の一覧を走査せずにメッセージコードから列挙子を取得できるよう、分割したEnum毎にHashMapの索引を持つクラスを作成する.
+     * 索引は分割したEnum毎に初回利用時に作成し、対象のEnumは先頭のメッセージコードの二分探索で決定する.
+     *
+     * @param context コンテキスト
+     * @param writer 出力先
+     * @throws IOException I/O例外
+     */
+    public void writeLookup(DevGeneratorContext context, Writer writer) throws IOException {
+        writeLookup(context, splitMessageDocs(context), writer);
+    }
+
+    /**
+     * 分割済のメッセージからメッセージコードの索引クラスの内容を出力.
+     *
+     * @param context コンテキスト
+     * @param shards 分割したEnum毎のメッセージキーとJavaDocの対応
+     * @param writer 出力先
+     * @throws IOException I/O例外
+     */
+    private void writeLookup(DevGeneratorContext context, List<Map<String, String>> shards, Writer writer)
+            throws IOException {
+        List<Map<String, Object>> shardScopes = new ArrayList<>(shards.size());
+        for (int shard = 0; shard < shards.size(); shard++) {
+            if (shards.get(shard).isEmpty()) {
+                continue;
+            }
+            Map<String, Object> shardScope = new HashMap<>();
+            shardScope.put("index", shard);
+            shardScope.put("enumClassName", getEnumSimpleName(context, shard));
+            shardScopes.add(shardScope);
+        }
+        Map<String, Object> scope = new HashMap<>();
+        scope.put("shardCount", shards.size());
+        scope.put("packageName", getEnumPackageName(context));
+        scope.put("className", getLookupSimpleName(context));
+        scope.put("name", context.getSpec().getInfo().getName());
+        scope.put("shards", shardScopes);
+        try {
+            TemplateRegistry.getInstance().getTemplate(context, LOOKUP_TEMPLATE).execute(writer, scope);
+            writer.flush();
+        } catch (MustacheException e) {
+            throw new IOException("fail render Messages lookup class.", e);
+        }
+    }
+
+    /**
+     * メッセージコードの索引クラスのクラス名を取得.
+     *
+     * @param context コンテキスト
+     * @return クラス名
+     */
+    private String getLookupSimpleName(DevGeneratorContext context) {
+        return getEnumSimpleName(context, 0) + "Lookup";
+    }
+
+    /**
+     * 列挙子用のカスタム機能名を取得（ハイフン・ドット等のJavaの識別子に利用できない文字をアンダースコアにする）.
+     *
+     * @param context コンテキスト
+     * @return 列挙子用のカスタム機能名
+     */
+    private String getCustomNameForJava(DevGeneratorContext context) {
+        StringBuilder customName = new StringBuilder();
+        String name = context.getSpec().getInfo().getName();
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            customName.append(Character.isJavaIdentifierPart(c) ? c : '_');
+        }
+        return customName.toString();
+    }
+
+    /**
+     * Messages.javaのパッケージ名を取得.
+     *
+     * @param context コンテキスト
+     * @return パッケージ名
+     */
+    private String getEnumPackageName(DevGeneratorContext context) {
+        return context.getSpec().getInfo().getCustomPackage() + ".messages";
+    }
+
+    /**
+     * Messages.javaのクラス名を取得.
+     * <p>
+     * アッパースネークケースをクラス名としてアッパーキャメルにする. 分割した場合、先頭のEnumは分割しない場合と
+     * 同じクラス名とし、2つ目以降は末尾に2からの連番を付与する.
+     *
+     * @param context コンテキスト
+     * @param shard 分割したEnumのインデックス
+     * @return クラス名
+     */
+    private String getEnumSimpleName(DevGeneratorContext context, int shard) {
+        String customNameForClassName = Arrays.stream(getCustomNameForJava(context).split("_"))
+                .map(x -> StringUtils.capitalize(x))
+                .collect(Collectors.joining());
+        String className = WordUtils.capitalize(customNameForClassName) + "Messages" + (shard > 0 ? shard + 1 : "");
+        // 数字で始まる機能名の場合も識別子となるようにする
+        return Character.isJavaIdentifierStart(className.charAt(0)) ? className : "_" + className;
+    }
+
+    /**
+     * メッセージキーとJavaDocの対応を、Enumの分割単位毎に分割.
+     * <p>
+     * 列挙子の初期化は1つの静的初期化子にまとめられるため、メッセージ数が多いとメソッドサイズ（64KB）や
+     * 定数プールの上限を超える. 分割単位を超える場合は「メッセージ数 / 分割単位」（切り上げ）個のEnumへ分割し、
+     * それぞれが独立したクラスとして最初に利用された時点で初期化されるようにする.
+     * 各メッセージの分割先はメッセージキーのみから決定するため、メッセージを追加・削除しても分割数が変わらない限り
+     * 他の列挙子が属するEnumは変わらない.
+     *
+     * @param context コンテキスト
+     * @return 分割したEnum毎のメッセージキーとJavaDocの対応
+     */
+    private List<Map<String, String>> splitMessageDocs(DevGeneratorContext context) {
+        Map<String, String> messageDocs = collectMessageDocs(context);
+        int shardSize = Math.max(1, context.getExecuteOptions().getEnumShardSize());
+        int shardCount = Math.max(1, (messageDocs.size() + shardSize - 1) / shardSize);
+        List<Map<String, String>> shards = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            shards.add(new LinkedHashMap<>());
+        }
+        for (Map.Entry<String, String> entry : messageDocs.entrySet()) {
+            shards.get(getShardIndex(entry.getKey(), shardCount)).put(entry.getKey(), entry.getValue());
+        }
+        return shards;
+    }
+
+    /**
+     * メッセージキーを割り当てる分割したEnumのインデックスを取得.
+     * <p>
+     * メッセージキーのハッシュ値からJump Consistent Hashで決定する. 分割数が1つ増えた場合、既存のメッセージは
+     * 元のEnumに留まるか、増えたEnumへ移動するかのいずれかとなる.
+     * 索引クラス（messages-lookup.mustache）は同じ計算で列挙子を検索するため、変更する場合は両方を変更すること.
+     *
+     * @param messageCode メッセージキー
+     * @param shardCount 分割数
+     * @return 分割したEnumのインデックス
+     */
+    static int getShardIndex(String messageCode, int shardCount) {
+        // 連番のメッセージキーも均等に分散するよう、ハッシュ値を攪拌する
+        long key = messageCode.hashCode();
+        key = (key ^ (key >>> 33)) * 0xff51afd7ed558ccdL;
+        key = (key ^ (key >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        key = key ^ (key >>> 33);
+        long shard = -1L;
+        long next = 0L;
+        while (next < shardCount) {
+            shard = next;
+            key = key * 2862933555777941757L + 1L;
+            next = (long) ((shard + 1L) * ((double) (1L << 31) / (double) ((key >>> 33) + 1L)));
+        }
+        return (int) shard;
+    }
+
+    /**
+     * メッセージキーとJavaDocに利用するメッセージを収集.
+     *
+     * @param context コンテキスト
+     * @return メッセージキーとメッセージの対応（キー順）
+     */
+    private Map<String, String> collectMessageDocs(DevGeneratorContext context) {
+
+        // 主Localeを先頭に、残りはLocale順で補完する
+        String primaryLocale = resolvePrimaryLocale(context);
+        List<FunctionModel> functionModels = new ArrayList<>();
+        functionModels.add(context.getFunctionModelMap().get(primaryLocale));
+        context.getFunctionModelMap()
+                .entrySet()
+                .stream()
+                .filter(x -> !x.getKey().equals(primaryLocale))
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(x -> functionModels.add(x.getValue()));
+
+        Map<String, String> messageDocs = new TreeMap<>();
+        for (FunctionModel functionModel : functionModels) {
+            for (Property property : functionModel.getMessages().values()) {
+                if (property.getValue() != null) {
+                    messageDocs.putIfAbsent(property.getKey(), property.getValue());
+                } else if (!messageDocs.containsKey(property.getKey())) {
+                    messageDocs.put(property.getKey(), null);
+                }
             }
         }
 
+        // いずれのLocaleでもメッセージが未定義の場合はキーをJavaDocとする
+        messageDocs.replaceAll((k, v) -> v == null ? k : v);
+        return messageDocs;
+    }
+
+    /**
+     * JavaDocに利用する主Localeを解決.
+     * <p>
+     * 実行オプションで指定されていない、または対象Localeに含まれない場合は設計ファイルの先頭のLocaleとする.
+     *
+     * @param context コンテキスト
+     * @return 主Locale
+     */
+    private String resolvePrimaryLocale(DevGeneratorContext context) {
+        String primaryLocale = context.getExecuteOptions().getPrimaryLocale();
+        if (StringUtils.isNotEmpty(primaryLocale) && context.getFunctionModelMap().containsKey(primaryLocale)) {
+            return primaryLocale;
+        }
+        return context.getSpec().getLanguages().get(0);
+    }
+
+    /**
+     * プロパティを出力.
+     * <p>
+     * 内容が同じであれば出力結果も同一となるよう、Properties.storeが出力する日時のコメント行は除去する.
+     *
+     * @param props プロパティ
+     * @param os 出力ストリーム
+     * @throws IOException I/O例外
+     */
+    private void storeProperties(Properties props, OutputStream os) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        props.store(baos, " Generated by epion-t3-devtools");
+        String stored = baos.toString(StandardCharsets.ISO_8859_1);
+        int commentEnd = stored.indexOf('\n');
+        int dateEnd = stored.indexOf('\n', commentEnd + 1);
+        os.write((stored.substring(0, commentEnd + 1) + stored.substring(dateEnd + 1))
+                .getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * 機能モデルのメッセージからプロパティを作成.
+     * <p>
+     * 対象のLocaleで未定義のメッセージは出力しない.
+     *
+     * @param functionModel 機能モデル
+     * @return プロパティ
+     */
+    private Properties createProperties(FunctionModel functionModel) {
+        Properties props = new Properties();
+        for (Property property : functionModel.getMessages().values()) {
+            if (property.getValue() != null) {
+                props.put(property.getKey(), property.getValue());
+            }
+        }
+        return props;
     }
 
 }
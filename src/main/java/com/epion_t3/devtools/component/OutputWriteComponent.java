@@ -0,0 +1,189 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.component;
+
+import com.epion_t3.devtools.bean.DevGeneratorContext;
+import com.epion_t3.devtools.exception.GeneratorException;
+import com.epion_t3.devtools.util.MetricsUtils;
+import com.epion_t3.devtools.util.MetricsUtils.Measurement;
+import com.epion_t3.devtools.util.OutputFileUtils;
+import com.epion_t3.devtools.util.OutputFileUtils.OutputWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 出力ファイルの書き込み処理.
+ * <p>
+ * 生成処理から出力処理を受け取り、I/O専用のスレッドで出力内容を一時ファイルへ直接書き込んでアトミックに置き換える.
+ * 出力内容全体をメモリ上に保持しないため、大きな出力を並行して作成してもメモリ使用量は増えない.
+ * 生成処理は書き込みの完了を待たずに次の出力を依頼できる. 書き込み待ちの出力の数には上限があり、
+ * 上限に達した場合は書き込みが進むまで生成処理を待機させる.
+ *
+ * @author takashno
+ */
+public final class OutputWriteComponent implements Component {
+
+    /**
+     * 書き込み（出力内容の作成を含む）を行うスレッド数.
+     */
+    private static final int IO_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * 書き込み待ちにできる出力の数.
+     */
+    private static final int QUEUE_CAPACITY = 32;
+
+    /**
+     * シングルトンインスタンス（スレッド数の算出後に作成する）.
+     */
+    private static final OutputWriteComponent instance = new OutputWriteComponent();
+
+    /**
+     * 書き込みスレッドの連番.
+     */
+    private final AtomicInteger threadNumber = new AtomicInteger();
+
+    /**
+     * 書き込みを行うExecutor（全ての生成処理で共有する）.
+     */
+    private final ThreadPoolExecutor ioExecutor = new ThreadPoolExecutor(IO_THREADS, IO_THREADS, 0L,
+            TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread thread = new Thread(r, "et3-output-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * 書き込み待ちの出力の数を制限するセマフォ.
+     */
+    private final Semaphore permits = new Semaphore(QUEUE_CAPACITY);
+
+    /**
+     * プライベートコンストラクタ.
+     */
+    private OutputWriteComponent() {
+        // Do Nothing...
+    }
+
+    /**
+     * シングルトンインスタンス取得.
+     *
+     * @return シングルトンインスタンス
+     */
+    public static OutputWriteComponent getInstance() {
+        return instance;
+    }
+
+    /**
+     * 書き込みを依頼.
+     * <p>
+     * 出力内容の作成と書き込みはI/O専用のスレッドで行う. 出力処理は依頼後に変更されない値のみを参照すること.
+     * 書き込みの結果はコンテキストへ出力ファイルとして追加される.
+     *
+     * @param context コンテキスト
+     * @param target 出力先
+     * @param writer 出力処理
+     */
+    public void submit(DevGeneratorContext context, Path target, OutputWriter writer) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GeneratorException("interrupted while waiting output. path:" + target.toString(), e);
+        }
+        FutureTask<Void> task = new FutureTask<Void>(() -> {
+            try (Measurement m = MetricsUtils.start(context, "output.write")) {
+                context.addOutputFile(target.toString(), OutputFileUtils.writeIfChanged(target, writer));
+            } catch (GeneratorException e) {
+                throw e;
+            } catch (IOException | RuntimeException e) {
+                throw new GeneratorException("fail output file. path:" + target.toString(), e);
+            }
+            return null;
+        }) {
+            @Override
+            protected void done() {
+                // 実行前に取り消された場合も含め、完了時に1度だけ解放する
+                permits.release();
+            }
+        };
+        try {
+            ioExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw new GeneratorException("fail submit output. path:" + target.toString(), e);
+        }
+        context.getPendingOutputs().add(task);
+    }
+
+    /**
+     * 書き込みを依頼した全ての出力の完了を待つ.
+     * <p>
+     * 書き込みに失敗した出力がある場合は、全ての完了を待った後に最初の失敗を例外とする.
+     *
+     * @param context コンテキスト
+     */
+    @Override
+    public void execute(DevGeneratorContext context) {
+        RuntimeException failure = null;
+        Future<?> pending;
+        while ((pending = context.getPendingOutputs().poll()) != null) {
+            try {
+                pending.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new GeneratorException("interrupted while waiting output.", e);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+                            : new GeneratorException("fail output file.", e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * 書き込みを依頼した出力のうち、未実行のものを取り消して実行中のものの完了を待つ.
+     * <p>
+     * 生成処理が例外で中断した場合に、生成の終了後も書き込みが続かないようにする. 書き込みの失敗は無視する.
+     *
+     * @param context コンテキスト
+     */
+    public void discard(DevGeneratorContext context) {
+        List<Future<?>> running = new ArrayList<>();
+        Future<?> pending;
+        while ((pending = context.getPendingOutputs().poll()) != null) {
+            if (pending instanceof Runnable && ioExecutor.remove((Runnable) pending)) {
+                // 未実行の出力はキューから除いて取り消す
+                pending.cancel(false);
+            } else {
+                running.add(pending);
+            }
+        }
+        for (Future<?> future : running) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // 中断した生成の出力のため無視する
+            }
+        }
+    }
+
+}
@@ -2,32 +2,46 @@
 package com.epion_t3.devtools.component;
 
 import com.epion_t3.core.common.bean.spec.*;
-import com.epion_t3.core.common.type.StructureType;
 import com.epion_t3.devtools.bean.CommandModel;
 import com.epion_t3.devtools.bean.ConfigurationModel;
 import com.epion_t3.devtools.bean.DevGeneratorContext;
 import com.epion_t3.devtools.bean.FlowModel;
 import com.epion_t3.devtools.bean.FunctionModel;
+import com.epion_t3.devtools.bean.LocaleIndex;
 import com.epion_t3.devtools.bean.Property;
-import com.epion_t3.devtools.comparator.DescriptionComparator;
+import com.epion_t3.devtools.bean.StringPool;
 import com.epion_t3.devtools.comparator.FunctionComparator;
 import com.epion_t3.devtools.comparator.StructureComparator;
 import com.epion_t3.devtools.exception.GeneratorException;
+import com.epion_t3.devtools.util.MetricsUtils;
+import com.epion_t3.devtools.util.MetricsUtils.Measurement;
+import com.epion_t3.devtools.util.ModelCompactUtils;
+import com.epion_t3.devtools.util.StructureYamlUtils;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
-import org.apache.commons.collections.CollectionUtils;
-import org.apache.commons.lang3.SerializationUtils;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 /**
@@ -42,6 +56,55 @@ public final class SpecParseComponent implements Component {
      */
     private static final SpecParseComponent instance = new SpecParseComponent();
 
+    /**
+     * Afterburner（バイトコード生成によるプロパティアクセス）を有効にするシステムプロパティ.
+     */
+    private static final String AFTERBURNER_PROPERTY = "et3.devtools.afterburner";
+
+    /**
+     * AfterburnerのModuleクラス名.
+     */
+    private static final String AFTERBURNER_MODULE = "com.fasterxml.jackson.module.afterburner.AfterburnerModule";
+
+    /**
+     * 設計ファイルのReader.
+     * <p>
+     * ObjectReaderはスレッドセーフであるため、プロセス内で1度だけ作成して共有する.
+     * 作成時にET3Specのデシリアライザを構築しておくことで、初回の解析時のコストを前倒しする.
+     */
+    private static final ObjectReader SPEC_READER = createSpecReader();
+
+    /**
+     * ストリーミング解析で利用するLocaleのReader.
+     */
+    private static final ObjectReader LANGUAGES_READER = SPEC_READER.forType(new TypeReference<List<String>>() {
+    });
+
+    /**
+     * ストリーミング解析で利用する機能情報のReader.
+     */
+    private static final ObjectReader INFO_READER = SPEC_READER.forType(Info.class);
+
+    /**
+     * ストリーミング解析で利用するメッセージ定義のReader.
+     */
+    private static final ObjectReader MESSAGE_READER = SPEC_READER.forType(Message.class);
+
+    /**
+     * ストリーミング解析で利用するFlow定義のReader.
+     */
+    private static final ObjectReader FLOW_READER = SPEC_READER.forType(Flow.class);
+
+    /**
+     * ストリーミング解析で利用するコマンド定義のReader.
+     */
+    private static final ObjectReader COMMAND_READER = SPEC_READER.forType(Command.class);
+
+    /**
+     * ストリーミング解析で利用する設定定義のReader.
+     */
+    private static final ObjectReader CONFIGURATION_READER = SPEC_READER.forType(Configuration.class);
+
     /**
      * プライベートコンストラクタ.
      */
@@ -58,6 +121,32 @@ public final class SpecParseComponent implements Component {
         return instance;
     }
 
+    /**
+     * 設計ファイルのReaderを作成.
+     *
+     * @return 設計ファイルのReader
+     */
+    private static ObjectReader createSpecReader() {
+        ObjectMapper objectMapper = new ObjectMapper(new YAMLFactory());
+
+        // 知らない要素は無視する
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        // クラスパスにAfterburnerが存在し、システムプロパティで有効化されている場合のみ登録する
+        if (Boolean.getBoolean(AFTERBURNER_PROPERTY)) {
+            try {
+                objectMapper.registerModule((Module) Class.forName(AFTERBURNER_MODULE)
+                        .getDeclaredConstructor()
+                        .newInstance());
+            } catch (ReflectiveOperationException | LinkageError e) {
+                throw new GeneratorException("fail enable afterburner. module:" + AFTERBURNER_MODULE, e);
+            }
+        }
+
+        // ET3Specに束縛し、ルートのデシリアライザを事前に構築する
+        return objectMapper.readerFor(ET3Spec.class);
+    }
+
     /**
      * 設計情報を解析.
      *
@@ -65,12 +154,19 @@ public final class SpecParseComponent implements Component {
      */
     @Override
     public void execute(DevGeneratorContext context) {
+        execute(context, true);
+    }
 
-        YAMLFactory yamlFactory = new YAMLFactory();
-        ObjectMapper objectMapper = new ObjectMapper(yamlFactory);
-
-        // 知らない要素は無視する
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    /**
+     * 設計情報を解析.
+     * <p>
+     * compactがtrueの場合、解析中はID・コンテンツ文字列を全Locale・全モデルで1つのインスタンスへ正規化し、
+     * 解析後はモデルのリストを詰め、設計ファイル全体の木を解放してLocaleと機能情報のみを保持する.
+     *
+     * @param context コンテキスト
+     * @param compact 解析結果のメモリ使用量を削減するか
+     */
+    void execute(DevGeneratorContext context, boolean compact) {
 
         try {
             Path specFile = Paths.get(context.getExecuteOptions().getTarget());
@@ -78,407 +174,676 @@ public final class SpecParseComponent implements Component {
                 throw new GeneratorException("fail read spec file. path:" + specFile.toString());
             }
 
-            ET3Spec spec = objectMapper.readValue(specFile.toFile(), ET3Spec.class);
-            context.setSpec(spec);
+            if (compact) {
+                context.setStringPool(new StringPool());
+            }
+
+            if (context.getExecuteOptions().isStreamingParse()) {
+                try (Measurement m = MetricsUtils.start(context, "parse.stream")) {
+                    parseStreaming(context, specFile);
+                }
+            } else {
+                parseTree(context, specFile);
+            }
+
+            if (compact) {
+                try (Measurement m = MetricsUtils.start(context, "parse.compact")) {
+                    compact(context);
+                }
+            }
+
+        } catch (IOException e) {
+            throw new GeneratorException("fail parse spec file.", e);
+        } finally {
+            context.setStringPool(null);
+        }
 
-            // 対象のLocaleについてコマンド出力モデルを作成
-            spec.getLanguages().stream().forEach(x -> {
-                Locale locale = Locale.forLanguageTag(x);
-                FunctionModel fom = new FunctionModel();
-                fom.setLabelName(spec.getInfo().getLabelName());
-                fom.setName(spec.getInfo().getName());
-                fom.setCustomPackage(spec.getInfo().getCustomPackage());
-                fom.setLocale(locale);
-                context.getFunctionModelMap().put(x, fom);
-            });
+    }
 
-            // 機能情報を解析
-            parseInfo(context);
+    /**
+     * 設計ファイル全体を木として読み込んでから解析.
+     *
+     * @param context コンテキスト
+     * @param specFile 設計ファイル
+     * @throws IOException I/O例外
+     */
+    private void parseTree(DevGeneratorContext context, Path specFile) throws IOException {
 
-            // メッセージを解析
-            parseMessages(context);
+        ET3Spec spec;
+        try (Measurement m = MetricsUtils.start(context, "parse.yamlRead")) {
+            spec = SPEC_READER.readValue(specFile.toFile());
+        }
+        context.setSpec(spec);
 
-            // Flowを解析
-            parseFlows(context);
+        // 対象のLocaleをインデックスへ解決し、Locale毎の機能出力モデルを作成
+        createFunctionModels(context, spec.getLanguages(), spec);
 
-            // コマンドを解析
-            parseCommands(context);
+        if (context.getExecuteOptions().isParallelParse()) {
+            parseParallel(context, spec);
+            return;
+        }
 
-            // 設定を解析
-            parseConfigurations(context);
+        // 機能情報を解析
+        try (Measurement m = MetricsUtils.start(context, "parse.info")) {
+            parseInfo(context, spec.getInfo());
+        }
 
-        } catch (IOException e) {
-            throw new GeneratorException("fail parse spec file.", e);
+        // メッセージを解析
+        try (Measurement m = MetricsUtils.start(context, "parse.messages")) {
+            forEach(spec.getMessages(), x -> registerMessage(context, x, parseMessage(context, x)));
+        }
+
+        // Flowを解析
+        try (Measurement m = MetricsUtils.start(context, "parse.flows")) {
+            forEach(spec.getFlows(), x -> registerFlow(context, x, parseFlow(context, x)));
         }
 
+        // コマンドを解析
+        try (Measurement m = MetricsUtils.start(context, "parse.commands")) {
+            forEach(spec.getCommands(), x -> registerCommand(context, x, parseCommand(context, x)));
+        }
+
+        // 設定を解析
+        try (Measurement m = MetricsUtils.start(context, "parse.configurations")) {
+            forEach(spec.getConfigurations(),
+                    x -> registerConfiguration(context, x, parseConfiguration(context, x)));
+        }
     }
 
     /**
-     * 機能情報を解析.
+     * 解析結果のメモリ使用量を削減.
+     * <p>
+     * モデルのリストを詰め、設計情報はLocaleと機能情報のみに置き換えて設計ファイル全体の木を解放する.
+     *
+     * @param context コンテキスト
+     */
+    private void compact(DevGeneratorContext context) {
+        for (FunctionModel fom : context.getFunctionModels()) {
+            ModelCompactUtils.compact(fom);
+        }
+        ET3Spec header = new ET3Spec();
+        header.setT3(context.getSpec().getT3());
+        header.setLanguages(context.getSpec().getLanguages());
+        header.setInfo(context.getSpec().getInfo());
+        context.setSpec(header);
+    }
+
+    /**
+     * 文字列をプールで正規化（プールが無い場合はそのまま）.
      *
      * @param context コンテキスト
+     * @param value 文字列
+     * @return 正規化した文字列
      */
-    private void parseInfo(DevGeneratorContext context) {
+    private String pool(DevGeneratorContext context, String value) {
+        StringPool stringPool = context.getStringPool();
+        return stringPool != null ? stringPool.get(value) : value;
+    }
 
-        context.getSpec().getInfo().getSummary().stream().forEach(x -> {
-            if (context.getFunctionModelMap().containsKey(x.getLang())) {
-                context.getFunctionModelMap().get(x.getLang()).addSummary(x.getContents());
+    /**
+     * 設計情報をセクション毎に並列で解析.
+     * <p>
+     * 機能情報・メッセージ・Flow・コマンド・設定をそれぞれ1つのタスクとし、要素数が多いセクションは
+     * 更に要素の範囲毎のタスクへ分割してLocale毎のモデルを作成する. 機能出力モデルのMapへの追加は
+     * セクションのタスクのみが設計ファイルの順に行うため、結果は逐次の解析と同一となる.
+     *
+     * @param context コンテキスト
+     * @param spec 設計情報
+     */
+    private void parseParallel(DevGeneratorContext context, ET3Spec spec) {
+        ForkJoinTask<?> info = ForkJoinTask.adapt(() -> {
+            try (Measurement m = MetricsUtils.start(context, "parse.info")) {
+                parseInfo(context, spec.getInfo());
             }
         });
-        context.getSpec().getInfo().getDescription().stream().forEach(x -> {
-            if (context.getFunctionModelMap().containsKey(x.getLang())) {
-                context.getFunctionModelMap().get(x.getLang()).addDescription(x.getContents());
+        ForkJoinTask.invokeAll(info,
+                createSectionTask(context, "parse.messages", spec.getMessages(), this::parseMessage,
+                        this::registerMessage),
+                createSectionTask(context, "parse.flows", spec.getFlows(), this::parseFlow, this::registerFlow),
+                createSectionTask(context, "parse.commands", spec.getCommands(), this::parseCommand,
+                        this::registerCommand),
+                createSectionTask(context, "parse.configurations", spec.getConfigurations(),
+                        this::parseConfiguration, this::registerConfiguration));
+    }
+
+    /**
+     * セクションを解析するタスクを作成.
+     *
+     * @param context コンテキスト
+     * @param phase 計測のフェーズ名
+     * @param elements 要素
+     * @param parser 要素からLocale毎のモデルを作成する処理
+     * @param registrar Locale毎のモデルを機能出力モデルへ追加する処理
+     * @param <T> 要素の型
+     * @param <M> モデルの型
+     * @return タスク
+     */
+    private <T, M> ForkJoinTask<?> createSectionTask(DevGeneratorContext context, String phase, List<T> elements,
+            BiFunction<DevGeneratorContext, T, M[]> parser, SectionRegistrar<T, M> registrar) {
+        return ForkJoinTask.adapt(() -> {
+            if (elements == null) {
+                return;
+            }
+            try (Measurement m = MetricsUtils.start(context, phase)) {
+                Object[] results = new Object[elements.size()];
+                new SectionParseTask<>(elements, results, x -> parser.apply(context, x), m, 0, elements.size())
+                        .invoke();
+                for (int i = 0; i < results.length; i++) {
+                    @SuppressWarnings("unchecked")
+                    M[] models = (M[]) results[i];
+                    registrar.register(context, elements.get(i), models);
+                }
             }
         });
+    }
+
+    /**
+     * 設計ファイルをストリーミングで解析.
+     * <p>
+     * トークン単位で読み進め、メッセージ・Flow・コマンド・設定は要素1つ分のみをBeanへ変換して
+     * 直ちにLocale毎のモデルへ反映する. 設計ファイル全体の木は保持せず、コンテキストの設計情報には
+     * Localeと機能情報のみを設定する. languagesより前に出現した要素は、languagesを読み込むまで保留する.
+     *
+     * @param context コンテキスト
+     * @param specFile 設計ファイル
+     * @throws IOException I/O例外
+     */
+    private void parseStreaming(DevGeneratorContext context, Path specFile) throws IOException {
+
+        ET3Spec header = new ET3Spec();
+        context.setSpec(header);
+        List<Runnable> pending = new ArrayList<>();
+
+        try (JsonParser parser = SPEC_READER.getFactory().createParser(specFile.toFile())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new GeneratorException("spec file is not object. path:" + specFile.toString());
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                case "t3":
+                    header.setT3(parser.getValueAsString());
+                    break;
+                case "languages":
+                    header.setLanguages(LANGUAGES_READER.readValue(parser));
+                    createFunctionModels(context, header.getLanguages(), null);
+                    pending.forEach(Runnable::run);
+                    pending.clear();
+                    break;
+                case "info":
+                    Info info = INFO_READER.readValue(parser);
+                    header.setInfo(info);
+                    parseOrDefer(context, pending, () -> parseInfo(context, info));
+                    break;
+                case "messages":
+                    readArray(parser, field, MESSAGE_READER,
+                            (Message x) -> parseOrDefer(context, pending,
+                                    () -> registerMessage(context, x, parseMessage(context, x))));
+                    break;
+                case "flows":
+                    readArray(parser, field, FLOW_READER,
+                            (Flow x) -> parseOrDefer(context, pending,
+                                    () -> registerFlow(context, x, parseFlow(context, x))));
+                    break;
+                case "commands":
+                    readArray(parser, field, COMMAND_READER,
+                            (Command x) -> parseOrDefer(context, pending,
+                                    () -> registerCommand(context, x, parseCommand(context, x))));
+                    break;
+                case "configurations":
+                    readArray(parser, field, CONFIGURATION_READER,
+                            (Configuration x) -> parseOrDefer(context, pending,
+                                    () -> registerConfiguration(context, x, parseConfiguration(context, x))));
+                    break;
+                default:
+                    // 知らない要素は無視する
+                    parser.skipChildren();
+                    break;
+                }
+            }
+        }
 
+        if (context.getLocaleIndex() == null) {
+            throw new GeneratorException("languages is not defined. path:" + specFile.toString());
+        }
+    }
+
+    /**
+     * 配列の要素を1つずつBeanへ変換して処理.
+     * <p>
+     * 値が未定義（null）の要素・配列は無視する. 配列・要素がオブジェクト以外の場合は、読み飛ばさずにエラーとする.
+     *
+     * @param parser パーサー（配列の開始位置）
+     * @param field 要素名
+     * @param reader 要素のReader
+     * @param consumer 要素の処理
+     * @param <T> 要素の型
+     * @throws IOException I/O例外
+     */
+    private <T> void readArray(JsonParser parser, String field, ObjectReader reader, Consumer<T> consumer)
+            throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return;
+        }
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new GeneratorException(
+                    "unexpected token. field:" + field + ", token:" + parser.currentToken() + ", location:"
+                            + parser.getTokenLocation());
+        }
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_OBJECT) {
+                consumer.accept(reader.readValue(parser));
+            } else if (token != JsonToken.VALUE_NULL) {
+                throw new GeneratorException(
+                        "unexpected token. field:" + field + ", token:" + token + ", location:"
+                                + parser.getTokenLocation());
+            }
+        }
+    }
+
+    /**
+     * Localeが確定していれば解析し、未確定であれば保留する.
+     *
+     * @param context コンテキスト
+     * @param pending 保留中の解析処理
+     * @param task 解析処理
+     */
+    private void parseOrDefer(DevGeneratorContext context, List<Runnable> pending, Runnable task) {
+        if (context.getLocaleIndex() == null) {
+            pending.add(task);
+        } else {
+            task.run();
+        }
+    }
+
+    /**
+     * 対象のLocaleをインデックスへ解決し、Locale毎の機能出力モデルを作成.
+     *
+     * @param context コンテキスト
+     * @param languages 対象のLocale
+     * @param spec 設計情報（要素数が分からない場合はnull）
+     */
+    private void createFunctionModels(DevGeneratorContext context, List<String> languages, ET3Spec spec) {
+        LocaleIndex localeIndex = new LocaleIndex(languages);
+        FunctionModel[] functionModels = new FunctionModel[localeIndex.size()];
+        for (int i = 0; i < functionModels.length; i++) {
+            FunctionModel fom = spec == null ? new FunctionModel()
+                    : new FunctionModel(size(spec.getConfigurations()), size(spec.getFlows()),
+                            size(spec.getCommands()), size(spec.getMessages()));
+            fom.setLocale(Locale.forLanguageTag(localeIndex.getLanguage(i)));
+            functionModels[i] = fom;
+            context.getFunctionModelMap().put(localeIndex.getLanguage(i), fom);
+        }
+        context.setLocaleIndex(localeIndex);
+        context.setFunctionModels(functionModels);
+    }
+
+    /**
+     * 要素数を取得.
+     *
+     * @param elements 要素
+     * @return 要素数（要素が未定義の場合は0）
+     */
+    private int size(List<?> elements) {
+        return elements != null ? elements.size() : 0;
+    }
+
+    /**
+     * 要素毎に処理（要素が未定義の場合は何もしない）.
+     *
+     * @param elements 要素
+     * @param consumer 要素の処理
+     * @param <T> 要素の型
+     */
+    private <T> void forEach(List<T> elements, Consumer<T> consumer) {
+        if (elements != null) {
+            elements.forEach(consumer);
+        }
+    }
+
+    /**
+     * 機能情報を解析.
+     *
+     * @param context コンテキスト
+     * @param info 機能情報
+     */
+    private void parseInfo(DevGeneratorContext context, Info info) {
+        for (FunctionModel fom : context.getFunctionModels()) {
+            fom.setLabelName(info.getLabelName());
+            fom.setName(info.getName());
+            fom.setCustomPackage(info.getCustomPackage());
+        }
+        addLocalized(context, info.getSummary(), context.getFunctionModels(), FunctionModel::addSummary);
+        addLocalized(context, info.getDescription(), context.getFunctionModels(), FunctionModel::addDescription);
     }
 
     /**
      * メッセージ定義を解析.
      *
      * @param context コンテキスト
+     * @param message メッセージ定義
+     * @return Locale毎のメッセージ＝Propertiesファイルの１行（LocaleIndexの順）
      */
-    private void parseMessages(DevGeneratorContext context) {
+    private Property[] parseMessage(DevGeneratorContext context, Message message) {
 
-        Optional.ofNullable(context.getSpec().getMessages())
-                .map(Collection::stream)
-                .orElseGet(Stream::empty)
-                .forEach(message -> {
-
-                    // メッセージ＝Propertiesファイルの１行を作成する
-                    Property property = new Property();
-                    property.setKey(message.getId());
-
-                    // Locale毎に分割されたFunctionModelに対してメッセージを追加していく
-                    context.getFunctionModelMap().forEach((k, v) -> {
-                        v.getMessages().put(message.getId(), SerializationUtils.clone(property));
-                    });
-
-                    // Locale毎にメッセージ文字列を設定していく.
-                    message.getMessage().stream().forEach(x -> {
-                        if (context.getFunctionModelMap().containsKey(x.getLang())) {
-                            context.getFunctionModelMap()
-                                    .get(x.getLang())
-                                    .getMessages()
-                                    .get(message.getId())
-                                    .setValue(x.getContents());
-                        }
-                    });
-                });
+        String id = pool(context, message.getId());
+        Property[] properties = new Property[context.getLocaleIndex().size()];
+        for (int i = 0; i < properties.length; i++) {
+            properties[i] = new Property(id);
+        }
+
+        // Locale毎にメッセージ文字列を設定していく.
+        addLocalized(context, message.getMessage(), properties, Property::setValue);
+        return properties;
+    }
+
+    /**
+     * メッセージをLocale毎の機能出力モデルへ追加.
+     *
+     * @param context コンテキスト
+     * @param message メッセージ定義
+     * @param properties Locale毎のメッセージ（LocaleIndexの順）
+     */
+    private void registerMessage(DevGeneratorContext context, Message message, Property[] properties) {
+        register(context, message.getId(), properties, FunctionModel::getMessages);
     }
 
     /**
      * Flow定義を解析.
      *
-     * @param context 機能出力モデルマップ
+     * @param context コンテキスト
+     * @param flow Flow定義
+     * @return Locale毎のモデル（LocaleIndexの順）
      */
-    private void parseFlows(DevGeneratorContext context) {
+    private FlowModel[] parseFlow(DevGeneratorContext context, Flow flow) {
+
+        // Locale毎のモデルを作成する.
+        String id = pool(context, flow.getId());
+        FlowModel[] flowModels = new FlowModel[context.getLocaleIndex().size()];
+        for (int i = 0; i < flowModels.length; i++) {
+            flowModels[i] = new FlowModel(id);
+        }
 
-        // Command
-        Optional.ofNullable(context.getSpec().getFlows())
+        // Summary
+        addLocalized(context, flow.getSummary(), flowModels, FlowModel::addSummary);
+
+        // Functions
+        Optional.ofNullable(flow.getFunction())
+                .map(Collection::stream)
+                .orElseGet(Stream::empty)
+                .sorted(FunctionComparator.getInstance())
+                .forEach(x -> addLocalized(context, x.getSummary(), flowModels, FlowModel::addFunction));
+
+        // Structure Description
+        Optional.ofNullable(flow.getStructure())
                 .map(Collection::stream)
                 .orElseGet(Stream::empty)
-                .forEach(flow -> {
-
-                    // Localeが関係ないものはここで処理する.
-                    FlowModel f = new FlowModel();
-                    f.setId(flow.getId());
-
-                    context.getFunctionModelMap().forEach((k, v) -> {
-                        v.getFlows().put(f.getId(), SerializationUtils.clone(f));
-                    });
-
-                    // Summary
-                    flow.getSummary().stream().forEach(x -> {
-                        if (context.getFunctionModelMap().containsKey(x.getLang())) {
-                            context.getFunctionModelMap()
-                                    .get(x.getLang())
-                                    .getFlow(flow.getId())
-                                    .addSummary(x.getContents());
-                        }
-                    });
-
-                    // Functions
-                    flow.getFunction().stream().sorted(FunctionComparator.getInstance()).forEach(x -> {
-                        x.getSummary().forEach(y -> {
-                            if (context.getFunctionModelMap().containsKey(y.getLang())) {
-                                context.getFunctionModelMap()
-                                        .get(y.getLang())
-                                        .getFlow(flow.getId())
-                                        .addFunction(y.getContents());
-                            }
-                        });
-                    });
-
-                    // Structure Description
-                    flow.getStructure().stream().sorted(StructureComparator.getInstance()).forEach(x -> {
-                        if (CollectionUtils.isNotEmpty(x.getDescription())) {
-                            x.getDescription().forEach(y -> {
-                                if (context.getFunctionModelMap().containsKey(y.getLang())) {
-                                    context.getFunctionModelMap()
-                                            .get(y.getLang())
-                                            .getFlow(flow.getId())
-                                            .addStructureDescription(y.getContents());
-                                }
-                            });
-                        }
-                    });
-
-                    // YAML構成を作成
-                    createStructure(context, flow);
-                });
+                .sorted(StructureComparator.getInstance())
+                .forEach(x -> addLocalized(context, x.getDescription(), flowModels,
+                        FlowModel::addStructureDescription));
+
+        // YAML構成を作成
+        createStructure(context, flow.getStructure(), flowModels, FlowModel::setStructure);
+        return flowModels;
+    }
+
+    /**
+     * FlowをLocale毎の機能出力モデルへ追加.
+     *
+     * @param context コンテキスト
+     * @param flow Flow定義
+     * @param flowModels Locale毎のモデル（LocaleIndexの順）
+     */
+    private void registerFlow(DevGeneratorContext context, Flow flow, FlowModel[] flowModels) {
+        register(context, flow.getId(), flowModels, FunctionModel::getFlows);
     }
 
     /**
      * コマンド定義を解析.
      *
-     * @param context 機能出力モデルマップ
+     * @param context コンテキスト
+     * @param command コマンド定義
+     * @return Locale毎のモデル（LocaleIndexの順）
      */
-    private void parseCommands(DevGeneratorContext context) {
+    private CommandModel[] parseCommand(DevGeneratorContext context, Command command) {
+
+        // Locale毎のモデルを作成する.
+        String id = pool(context, command.getId());
+        CommandModel[] commandModels = new CommandModel[context.getLocaleIndex().size()];
+        for (int i = 0; i < commandModels.length; i++) {
+            commandModels[i] = new CommandModel(id, command.getAssertCommand(),
+                    command.getEvidenceCommand());
+        }
+
+        // Summary
+        addLocalized(context, command.getSummary(), commandModels, CommandModel::addSummary);
 
-        // Command
-        Optional.ofNullable(context.getSpec().getCommands())
+        // Functions
+        Optional.ofNullable(command.getFunction())
                 .map(Collection::stream)
                 .orElseGet(Stream::empty)
-                .forEach(command -> {
-
-                    // Localeが関係ないものはここで処理する.
-                    CommandModel com = new CommandModel();
-                    com.setId(command.getId());
-                    // Command Kind
-                    com.setAssertCommand(command.getAssertCommand());
-                    com.setEvidenceCommand(command.getEvidenceCommand());
-
-                    context.getFunctionModelMap().forEach((k, v) -> {
-                        v.getCommands().put(com.getId(), SerializationUtils.clone(com));
-                    });
-
-                    // Summary
-                    Optional.ofNullable(command.getSummary())
-                            .map(Collection::stream)
-                            .orElseGet(Stream::empty)
-                            .forEach(x -> {
-                                if (context.getFunctionModelMap().containsKey(x.getLang())) {
-                                    context.getFunctionModelMap()
-                                            .get(x.getLang())
-                                            .getCommand(command.getId())
-                                            .addSummary(x.getContents());
-                                }
-                            });
-
-                    // Functions
-                    Optional.ofNullable(command.getFunction())
-                            .map(Collection::stream)
-                            .orElseGet(Stream::empty)
-                            .sorted(FunctionComparator.getInstance())
-                            .forEach(x -> {
-                                x.getSummary().forEach(y -> {
-                                    if (context.getFunctionModelMap().containsKey(y.getLang())) {
-                                        context.getFunctionModelMap()
-                                                .get(y.getLang())
-                                                .getCommand(command.getId())
-                                                .addFunction(y.getContents());
-                                    }
-                                });
-                            });
-
-                    // Structure Description
-                    Optional.ofNullable(command.getStructure())
-                            .map(Collection::stream)
-                            .orElseGet(Stream::empty)
-                            .sorted(StructureComparator.getInstance())
-                            .forEach(x -> {
-                                if (CollectionUtils.isNotEmpty(x.getDescription())) {
-                                    x.getDescription().forEach(y -> {
-                                        if (context.getFunctionModelMap().containsKey(y.getLang())) {
-                                            context.getFunctionModelMap()
-                                                    .get(y.getLang())
-                                                    .getCommand(command.getId())
-                                                    .addStructureDescription(y.getContents());
-                                        }
-                                    });
-                                }
-                            });
-
-                    // YAML構成を作成
-                    createStructure(context, command);
-                });
+                .sorted(FunctionComparator.getInstance())
+                .forEach(x -> addLocalized(context, x.getSummary(), commandModels, CommandModel::addFunction));
+
+        // Structure Description
+        Optional.ofNullable(command.getStructure())
+                .map(Collection::stream)
+                .orElseGet(Stream::empty)
+                .sorted(StructureComparator.getInstance())
+                .forEach(x -> addLocalized(context, x.getDescription(), commandModels,
+                        CommandModel::addStructureDescription));
+
+        // YAML構成を作成
+        createStructure(context, command.getStructure(), commandModels, CommandModel::setStructure);
+        return commandModels;
+    }
+
+    /**
+     * コマンドをLocale毎の機能出力モデルへ追加.
+     *
+     * @param context コンテキスト
+     * @param command コマンド定義
+     * @param commandModels Locale毎のモデル（LocaleIndexの順）
+     */
+    private void registerCommand(DevGeneratorContext context, Command command, CommandModel[] commandModels) {
+        register(context, command.getId(), commandModels, FunctionModel::getCommands);
     }
 
     /**
      * 設定定義を解析.
      *
-     * @param context 機能出力モデルマップ
+     * @param context コンテキスト
+     * @param configuration 設定定義
+     * @return Locale毎のモデル（LocaleIndexの順）
      */
-    private void parseConfigurations(DevGeneratorContext context) {
+    private ConfigurationModel[] parseConfiguration(DevGeneratorContext context, Configuration configuration) {
+
+        // Locale毎のモデルを作成する.
+        String id = pool(context, configuration.getId());
+        ConfigurationModel[] configurationModels = new ConfigurationModel[context.getLocaleIndex().size()];
+        for (int i = 0; i < configurationModels.length; i++) {
+            configurationModels[i] = new ConfigurationModel(id);
+        }
+
+        // Summary
+        addLocalized(context, configuration.getSummary(), configurationModels, ConfigurationModel::addSummary);
 
-        // Command
-        Optional.ofNullable(context.getSpec().getConfigurations())
+        // Configuration
+        Optional.ofNullable(configuration.getDescription())
                 .map(Collection::stream)
                 .orElseGet(Stream::empty)
-                .forEach(configuration -> {
-
-                    // Localeが関係ないものはここで処理する.
-                    ConfigurationModel com = new ConfigurationModel();
-                    com.setId(configuration.getId());
-
-                    context.getFunctionModelMap().forEach((k, v) -> {
-                        v.getConfigurations().put(com.getId(), SerializationUtils.clone(com));
-                    });
-
-                    // Summary
-                    Optional.ofNullable(configuration.getSummary())
-                            .map(Collection::stream)
-                            .orElseGet(Stream::empty)
-                            .forEach(x -> {
-                                if (context.getFunctionModelMap().containsKey(x.getLang())) {
-                                    context.getFunctionModelMap()
-                                            .get(x.getLang())
-                                            .getConfiguration(configuration.getId())
-                                            .addSummary(x.getContents());
-                                }
-                            });
-
-                    // Configuration
-                    Optional.ofNullable(configuration.getDescription())
-                            .map(Collection::stream)
-                            .orElseGet(Stream::empty)
-                            .forEach(x -> {
-                                x.getSummary().forEach(y -> {
-                                    if (context.getFunctionModelMap().containsKey(y.getLang())) {
-                                        context.getFunctionModelMap()
-                                                .get(y.getLang())
-                                                .getConfiguration(configuration.getId())
-                                                .addDescription(y.getContents());
-                                    }
-                                });
-                            });
-
-                    // Structure Description
-                    Optional.ofNullable(configuration.getStructure())
-                            .map(Collection::stream)
-                            .orElseGet(Stream::empty)
-                            .sorted(StructureComparator.getInstance())
-                            .forEach(x -> {
-                                if (CollectionUtils.isNotEmpty(x.getDescription())) {
-                                    x.getDescription().forEach(y -> {
-                                        if (context.getFunctionModelMap().containsKey(y.getLang())) {
-                                            context.getFunctionModelMap()
-                                                    .get(y.getLang())
-                                                    .getConfiguration(configuration.getId())
-                                                    .addStructureDescription(y.getContents());
-                                        }
-                                    });
-                                }
-                            });
-
-                    // YAML構成を作成
-                    createStructure(context, configuration);
-                });
+                .forEach(x -> addLocalized(context, x.getSummary(), configurationModels,
+                        ConfigurationModel::addDescription));
+
+        // Structure Description
+        Optional.ofNullable(configuration.getStructure())
+                .map(Collection::stream)
+                .orElseGet(Stream::empty)
+                .sorted(StructureComparator.getInstance())
+                .forEach(x -> addLocalized(context, x.getDescription(), configurationModels,
+                        ConfigurationModel::addStructureDescription));
+
+        // YAML構成を作成
+        createStructure(context, configuration.getStructure(), configurationModels,
+                ConfigurationModel::setStructure);
+        return configurationModels;
+    }
+
+    /**
+     * 設定をLocale毎の機能出力モデルへ追加.
+     *
+     * @param context コンテキスト
+     * @param configuration 設定定義
+     * @param configurationModels Locale毎のモデル（LocaleIndexの順）
+     */
+    private void registerConfiguration(DevGeneratorContext context, Configuration configuration,
+            ConfigurationModel[] configurationModels) {
+        register(context, configuration.getId(), configurationModels, FunctionModel::getConfigurations);
     }
 
     /**
-     * YAML構成を作成.
+     * Locale毎のモデルを、同じインデックスの機能出力モデルへ追加.
      *
      * @param context コンテキスト
-     * @param flow Flow
-     */
-    private void createStructure(DevGeneratorContext context, Flow flow) {
-        for (Map.Entry<String, FunctionModel> entry : context.getFunctionModelMap().entrySet()) {
-            StringBuilder sb = new StringBuilder();
-            createStructureRecursive(entry.getKey(), sb, 0, flow.getStructure());
-            entry.getValue().getFlow(flow.getId()).setStructure(sb.toString());
-            System.out.println(sb.toString());
+     * @param id ID
+     * @param models Locale毎のモデル（LocaleIndexの順）
+     * @param section 追加先の取得処理
+     * @param <M> モデルの型
+     */
+    private <M> void register(DevGeneratorContext context, String id, M[] models,
+            Function<FunctionModel, Map<String, M>> section) {
+        String canonical = pool(context, id);
+        FunctionModel[] functionModels = context.getFunctionModels();
+        for (int i = 0; i < functionModels.length; i++) {
+            section.apply(functionModels[i]).put(canonical, models[i]);
         }
     }
 
     /**
-     * YAML構成を作成.
+     * Locale毎のコンテンツを、同じインデックスのモデルへ設定.
+     * <p>
+     * 対象外のLocaleのコンテンツは無視する.
      *
      * @param context コンテキスト
-     * @param command コマンド
-     */
-    private void createStructure(DevGeneratorContext context, Command command) {
-        for (Map.Entry<String, FunctionModel> entry : context.getFunctionModelMap().entrySet()) {
-            StringBuilder sb = new StringBuilder();
-            createStructureRecursive(entry.getKey(), sb, 0, command.getStructure());
-            entry.getValue().getCommand(command.getId()).setStructure(sb.toString());
-            System.out.println(sb.toString());
+     * @param contents コンテンツ
+     * @param targets Locale毎のモデル（LocaleIndexの順）
+     * @param setter 設定処理
+     * @param <T> モデルの型
+     */
+    private <T> void addLocalized(DevGeneratorContext context, List<Content> contents, T[] targets,
+            BiConsumer<T, String> setter) {
+        if (contents == null) {
+            return;
+        }
+        LocaleIndex localeIndex = context.getLocaleIndex();
+        for (Content content : contents) {
+            int index = localeIndex.indexOf(content.getLang());
+            if (index >= 0) {
+                setter.accept(targets[index], pool(context, content.getContents()));
+            }
         }
     }
 
     /**
-     * YAML構成を作成.
+     * YAML構成を全Locale分作成.
      *
      * @param context コンテキスト
-     * @param configuration コマンド
-     */
-    private void createStructure(DevGeneratorContext context, Configuration configuration) {
-        for (Map.Entry<String, FunctionModel> entry : context.getFunctionModelMap().entrySet()) {
-            StringBuilder sb = new StringBuilder();
-            createStructureRecursive(entry.getKey(), sb, 0, configuration.getStructure());
-            entry.getValue().getConfiguration(configuration.getId()).setStructure(sb.toString());
-            System.out.println(sb.toString());
+     * @param structures 構成
+     * @param targets Locale毎のモデル（LocaleIndexの順）
+     * @param setter 設定処理
+     * @param <T> モデルの型
+     */
+    private <T> void createStructure(DevGeneratorContext context, List<Structure> structures, T[] targets,
+            BiConsumer<T, String> setter) {
+        String[] results = StructureYamlUtils.render(structures, context.getLocaleIndex());
+        for (int i = 0; i < results.length; i++) {
+            setter.accept(targets[i], results[i]);
         }
     }
 
     /**
-     * コマンドの構成を作成.
+     * Locale毎のモデルを機能出力モデルへ追加する処理.
      *
-     * @param locale
-     * @param sb
-     * @param level
-     * @param structures
+     * @param <T> 要素の型
+     * @param <M> モデルの型
      */
-    private void createStructureRecursive(String locale, StringBuilder sb, int level, List<Structure> structures) {
+    @FunctionalInterface
+    private interface SectionRegistrar<T, M> {
+
+        /**
+         * Locale毎のモデルを機能出力モデルへ追加.
+         *
+         * @param context コンテキスト
+         * @param element 要素
+         * @param models Locale毎のモデル（LocaleIndexの順）
+         */
+        void register(DevGeneratorContext context, T element, M[] models);
+    }
 
-        if (level == 0) {
-            sb.append("commands : \n");
-            sb.append(getNestString(level) + "- ");
-        }
+    /**
+     * 要素の範囲を分割しながらLocale毎のモデルを作成するタスク.
+     * <p>
+     * 各タスクは結果配列の自身の範囲のみに書き込むため、同期は不要である.
+     * セクションのタスク以外のスレッドで処理した範囲のCPU時間と割り当てメモリは、セクションの計測へ合算する.
+     *
+     * @param <T> 要素の型
+     */
+    private static final class SectionParseTask<T> extends RecursiveAction {
 
-        var levelSpace = getNestString(level);
+        private static final long serialVersionUID = 1L;
 
-        for (Structure structure : structures) {
-            if (level == 0) {
-                level++;
-                levelSpace = getNestString(level);
-            } else {
-                sb.append(levelSpace);
-            }
-            sb.append(structure.getName());
-            sb.append(": ");
+        /**
+         * 分割せずに処理する要素数.
+         */
+        private static final int THRESHOLD = 64;
 
-            for (Content content : structure.getSummary()) {
-                if (content.getLang().equals(locale)) {
-                    sb.append(content.getContents().replaceAll("\\\\", ""));
-                }
-            }
+        private final transient List<T> elements;
 
-            sb.append("\n");
+        private final Object[] results;
 
-            StructureType structureType = StructureType.valueOfByValue(structure.getType());
-            if (structureType == StructureType.OBJECT) {
-                // TODO : objectであるのに、配下のプロパティが存在しない場合にNullPointerExceptionになるため一時的に回避
-                if (structure.getProperty() != null) {
-                    createStructureRecursive(locale, sb, level + 1, structure.getProperty());
-                }
-            }
+        private final transient Function<T, Object> parser;
+
+        private final transient Measurement measurement;
+
+        private final int from;
+
+        private final int to;
+
+        /**
+         * コンストラクタ.
+         *
+         * @param elements 要素
+         * @param results 結果（要素と同じインデックスに設定する）
+         * @param parser 要素からLocale毎のモデルを作成する処理
+         * @param measurement セクションの計測
+         * @param from 開始位置
+         * @param to 終了位置（含まない）
+         */
+        SectionParseTask(List<T> elements, Object[] results, Function<T, Object> parser, Measurement measurement,
+                int from, int to) {
+            this.elements = elements;
+            this.results = results;
+            this.parser = parser;
+            this.measurement = measurement;
+            this.from = from;
+            this.to = to;
         }
-    }
 
-    /**
-     * 階層に応じたYAMLのネストスペース文字列を取得.
-     *
-     * @param level 階層
-     * @return ネストスペース文字列
-     */
-    private String getNestString(int level) {
-        StringBuilder levelSb = new StringBuilder();
-        for (int i = 0; i < level + 1; i++) {
-            levelSb.append("  ");
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                try (Measurement m = measurement.worker()) {
+                    for (int i = from; i < to; i++) {
+                        results[i] = parser.apply(elements.get(i));
+                    }
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SectionParseTask<>(elements, results, parser, measurement, from, middle),
+                    new SectionParseTask<>(elements, results, parser, measurement, middle, to));
         }
-        String levelSpace = levelSb.toString();
-        return levelSpace;
     }
 }
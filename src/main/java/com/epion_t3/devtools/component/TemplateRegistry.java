@@ -0,0 +1,351 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.component;
+
+import com.epion_t3.devtools.bean.DevGeneratorContext;
+import com.epion_t3.devtools.exception.GeneratorException;
+import com.epion_t3.devtools.util.HashUtils;
+import com.github.mustachejava.DefaultMustacheFactory;
+import com.github.mustachejava.Mustache;
+import com.github.mustachejava.resolver.FileSystemResolver;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Mustacheテンプレートのレジストリ.
+ * <p>
+ * 「&lt;種別&gt;-&lt;Locale&gt;.mustache」をユーザーテンプレートディレクトリ、クラスパスの順に探索し、
+ * 初回利用時にコンパイルする. 対象のLocaleのテンプレートが存在しない場合は
+ * 「Locale → 言語 → デフォルトLocale → Locale指定なし」の順にフォールバックする.
+ * コンパイル済テンプレートは件数上限付きでキャッシュし、長時間動作するプロセスでも際限なく増えないようにする.
+ * コンテキストを指定して取得した場合は、実際に解決したテンプレートのハッシュ値をコンテキストへ記録し、
+ * 生成キャッシュの判定に利用する.
+ *
+ * @author takashno
+ */
+public final class TemplateRegistry {
+
+    /**
+     * シングルトンインスタンス.
+     */
+    private static final TemplateRegistry instance = new TemplateRegistry();
+
+    /**
+     * テンプレートの拡張子.
+     */
+    private static final String EXTENSION = ".mustache";
+
+    /**
+     * フォールバック先のデフォルトLocale.
+     */
+    private static final String DEFAULT_LOCALE = "en_US";
+
+    /**
+     * テンプレートのキーの種別とLocaleの区切り文字.
+     */
+    private static final String KEY_SEPARATOR = "@";
+
+    /**
+     * キャッシュするコンパイル済テンプレートの上限.
+     */
+    private static final int MAX_CACHE_SIZE = 64;
+
+    /**
+     * コンパイル済テンプレートのキャッシュ（LRU）.
+     * <p>
+     * 同一テンプレートの同時コンパイルを防ぐため、コンパイル処理自体をFutureTaskとして保持する.
+     */
+    private final Map<String, FutureTask<Mustache>> cache = new LinkedHashMap<>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, FutureTask<Mustache>> eldest) {
+            return size() > MAX_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * プライベートコンストラクタ.
+     */
+    private TemplateRegistry() {
+        // Do Nothing...
+    }
+
+    /**
+     * シングルトンインスタンスを取得.
+     *
+     * @return シングルトンインスタンス
+     */
+    public static TemplateRegistry getInstance() {
+        return instance;
+    }
+
+    /**
+     * Localeに対応するテンプレートを取得.
+     *
+     * @param templateDir ユーザーテンプレートディレクトリ（未指定の場合はクラスパスのみ）
+     * @param kind テンプレート種別（例: function）
+     * @param locale Locale文字列（例: ja_JP）
+     * @return コンパイル済テンプレート
+     */
+    public Mustache getTemplate(String templateDir, String kind, String locale) {
+        String name = resolve(templateDir, kind, locale);
+        if (isUserTemplate(templateDir, name)) {
+            return compile(templateDir, name, lastModified(Paths.get(templateDir, name)));
+        }
+        return compile(null, name, 0L);
+    }
+
+    /**
+     * Localeに対応するテンプレートを取得し、解決したテンプレートのハッシュ値をコンテキストへ記録.
+     *
+     * @param context コンテキスト
+     * @param kind テンプレート種別（例: function）
+     * @param locale Locale文字列（例: ja_JP）
+     * @return コンパイル済テンプレート
+     */
+    public Mustache getTemplate(DevGeneratorContext context, String kind, String locale) {
+        getTemplateHash(context, kind, locale);
+        return getTemplate(context.getExecuteOptions().getTemplateDir(), kind, locale);
+    }
+
+    /**
+     * クラスパス上のLocaleに依存しないテンプレートを取得.
+     *
+     * @param name テンプレート名（例: messages-lookup.mustache）
+     * @return コンパイル済テンプレート
+     */
+    public Mustache getTemplate(String name) {
+        if (TemplateRegistry.class.getClassLoader().getResource(name) == null) {
+            throw new GeneratorException("template not found. name:" + name);
+        }
+        return compile(null, name, 0L);
+    }
+
+    /**
+     * クラスパス上のLocaleに依存しないテンプレートを取得し、テンプレートのハッシュ値をコンテキストへ記録.
+     *
+     * @param context コンテキスト
+     * @param name テンプレート名（例: messages-lookup.mustache）
+     * @return コンパイル済テンプレート
+     */
+    public Mustache getTemplate(DevGeneratorContext context, String name) {
+        getTemplateHash(context, name);
+        return getTemplate(name);
+    }
+
+    /**
+     * クラスパス上のLocaleに依存しないテンプレートのハッシュ値を取得し、コンテキストへ記録.
+     *
+     * @param context コンテキスト
+     * @param name テンプレート名
+     * @return ハッシュ値
+     */
+    public String getTemplateHash(DevGeneratorContext context, String name) {
+        return context.getTemplateHashes().computeIfAbsent(name, x -> resolveTemplateHash(null, x));
+    }
+
+    /**
+     * テンプレートのキーがLocaleに対応するテンプレート（ドキュメントのテンプレート）のキーであるか判定.
+     *
+     * @param key テンプレートのキー
+     * @return Locale毎のテンプレートの場合true
+     */
+    public boolean isLocaleTemplateKey(String key) {
+        return key.contains(KEY_SEPARATOR);
+    }
+
+    /**
+     * Localeに対応するテンプレートのハッシュ値を取得し、コンテキストへ記録.
+     * <p>
+     * 同じ種別・Localeのハッシュ値は1回の生成で1度だけ計算する.
+     *
+     * @param context コンテキスト
+     * @param kind テンプレート種別
+     * @param locale Locale文字列
+     * @return ハッシュ値
+     */
+    public String getTemplateHash(DevGeneratorContext context, String kind, String locale) {
+        return context.getTemplateHashes()
+                .computeIfAbsent(kind + KEY_SEPARATOR + locale,
+                        x -> resolveTemplateHash(context.getExecuteOptions().getTemplateDir(), x));
+    }
+
+    /**
+     * コンテキストへ記録したキーのテンプレートを現在の状態で解決し、ハッシュ値を取得.
+     * <p>
+     * ハッシュ値には解決したテンプレートの配置場所・名前・内容を含むため、フォールバック先の変化や
+     * 優先度の高いテンプレートの追加も検知できる.
+     *
+     * @param templateDir ユーザーテンプレートディレクトリ
+     * @param key テンプレートのキー（「種別@Locale」またはクラスパス上のテンプレート名）
+     * @return ハッシュ値（テンプレートが存在しない場合はnull）
+     */
+    public String resolveTemplateHash(String templateDir, String key) {
+        String name;
+        int separator = key.lastIndexOf(KEY_SEPARATOR);
+        if (separator < 0) {
+            name = TemplateRegistry.class.getClassLoader().getResource(key) == null ? null : key;
+        } else {
+            name = findName(templateDir, key.substring(0, separator), key.substring(separator + 1));
+        }
+        if (name == null) {
+            return null;
+        }
+        MessageDigest digest = HashUtils.newDigest();
+        if (isUserTemplate(templateDir, name)) {
+            Path path = Paths.get(templateDir, name);
+            digest.update(("file:" + name).getBytes(StandardCharsets.UTF_8));
+            try {
+                digest.update(Files.readAllBytes(path));
+            } catch (IOException e) {
+                throw new GeneratorException("fail read template. path:" + path.toString(), e);
+            }
+        } else {
+            digest.update(("classpath:" + name).getBytes(StandardCharsets.UTF_8));
+            try (InputStream is = TemplateRegistry.class.getClassLoader().getResourceAsStream(name)) {
+                digest.update(is.readAllBytes());
+            } catch (IOException e) {
+                throw new GeneratorException("fail read template. resource:" + name, e);
+            }
+        }
+        return HashUtils.toHex(digest.digest());
+    }
+
+    /**
+     * フォールバックを考慮してテンプレート名を解決.
+     *
+     * @param templateDir ユーザーテンプレートディレクトリ
+     * @param kind テンプレート種別
+     * @param locale Locale文字列
+     * @return テンプレート名
+     */
+    private String resolve(String templateDir, String kind, String locale) {
+        String name = findName(templateDir, kind, locale);
+        if (name == null) {
+            throw new GeneratorException("template not found. kind:" + kind + ", locale:" + locale);
+        }
+        return name;
+    }
+
+    /**
+     * フォールバックを考慮してテンプレート名を探索.
+     * <p>
+     * 候補毎にユーザーテンプレートディレクトリ、クラスパスの順に探索する.
+     *
+     * @param templateDir ユーザーテンプレートディレクトリ
+     * @param kind テンプレート種別
+     * @param locale Locale文字列
+     * @return テンプレート名（見つからない場合はnull）
+     */
+    private String findName(String templateDir, String kind, String locale) {
+        for (String name : createCandidates(kind, locale)) {
+            if (isUserTemplate(templateDir, name)
+                    || TemplateRegistry.class.getClassLoader().getResource(name) != null) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * ユーザーテンプレートディレクトリにテンプレートが存在するか判定.
+     *
+     * @param templateDir ユーザーテンプレートディレクトリ
+     * @param name テンプレート名
+     * @return 存在する場合true
+     */
+    private boolean isUserTemplate(String templateDir, String name) {
+        return StringUtils.isNotEmpty(templateDir) && Files.isRegularFile(Paths.get(templateDir, name));
+    }
+
+    /**
+     * フォールバックを考慮したテンプレート名の候補を作成.
+     *
+     * @param kind テンプレート種別
+     * @param locale Locale文字列
+     * @return テンプレート名の候補
+     */
+    private List<String> createCandidates(String kind, String locale) {
+        List<String> candidates = new ArrayList<>(4);
+        candidates.add(kind + "-" + locale + EXTENSION);
+        int separator = locale.indexOf('_');
+        if (separator > 0) {
+            candidates.add(kind + "-" + locale.substring(0, separator) + EXTENSION);
+        }
+        if (!DEFAULT_LOCALE.equals(locale)) {
+            candidates.add(kind + "-" + DEFAULT_LOCALE + EXTENSION);
+        }
+        candidates.add(kind + EXTENSION);
+        return candidates;
+    }
+
+    /**
+     * テンプレートをコンパイル（コンパイル済であればキャッシュから取得）.
+     *
+     * @param templateDir テンプレートディレクトリ（クラスパスの場合はnull）
+     * @param name テンプレート名
+     * @param lastModified 更新日時（ユーザーテンプレートの変更を検知するためキーに含める）
+     * @return コンパイル済テンプレート
+     */
+    private Mustache compile(String templateDir, String name, long lastModified) {
+        String key = (templateDir == null ? "classpath:" : Paths.get(templateDir).toAbsolutePath() + ":") + name
+                + "@" + lastModified;
+        FutureTask<Mustache> task;
+        synchronized (cache) {
+            task = cache.get(key);
+            if (task == null) {
+                task = new FutureTask<>(() -> {
+                    // キャッシュはレジストリで管理するため、Factoryはコンパイル毎に作成する
+                    // （ユーザーテンプレートは同名の同梱テンプレートより優先するためファイルシステムのみから読み込む）
+                    DefaultMustacheFactory mf = templateDir == null ? new DefaultMustacheFactory()
+                            : new DefaultMustacheFactory(new FileSystemResolver(Paths.get(templateDir).toFile()));
+                    return mf.compile(name);
+                });
+                cache.put(key, task);
+            }
+        }
+
+        // 最初の呼び出し元のみがコンパイルし、他のスレッドは完了を待つ
+        task.run();
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GeneratorException("template compile interrupted. template:" + key, e);
+        } catch (ExecutionException e) {
+            synchronized (cache) {
+                cache.remove(key, task);
+            }
+            throw new GeneratorException("fail compile template. template:" + key, e.getCause());
+        }
+    }
+
+    /**
+     * ファイルの更新日時を取得.
+     *
+     * @param path ファイルパス
+     * @return 更新日時（ミリ秒）
+     */
+    private long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            throw new GeneratorException("fail read template. path:" + path.toString(), e);
+        }
+    }
+
+}
@@ -0,0 +1,151 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.processor;
+
+import com.epion_t3.devtools.annotation.MessageSpec;
+import com.epion_t3.devtools.bean.DevGeneratorContext;
+import com.epion_t3.devtools.bean.ExecuteOptions;
+import com.epion_t3.devtools.bean.FunctionModel;
+import com.epion_t3.devtools.component.MessageGenerateComponent;
+import com.epion_t3.devtools.component.SpecParseComponent;
+import com.epion_t3.devtools.exception.GeneratorException;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link MessageSpec}が付与されたパッケージについて、コンパイル中にメッセージ定義を生成するアノテーションプロセッサ.
+ * <p>
+ * 設計解析とEnumの作成はコマンドラインと同じコンポーネントを利用し、出力先のみFilerに置き換える.
+ *
+ * @author takashno
+ */
+@SupportedAnnotationTypes("com.epion_t3.devtools.annotation.MessageSpec")
+@SupportedOptions(MessageSpecProcessor.SPEC_DIR_OPTION)
+public class MessageSpecProcessor extends AbstractProcessor {
+
+    /**
+     * 相対パスの設計ファイルの基準ディレクトリを指定するプロセッサオプション.
+     */
+    public static final String SPEC_DIR_OPTION = "et3.devtools.specDir";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(MessageSpec.class)) {
+            if (element.getKind() != ElementKind.PACKAGE) {
+                processingEnv.getMessager()
+                        .printMessage(Diagnostic.Kind.ERROR, "@MessageSpec is only allowed on package.", element);
+                continue;
+            }
+            MessageSpec messageSpec = element.getAnnotation(MessageSpec.class);
+            try {
+                generate(element, messageSpec);
+            } catch (IOException | RuntimeException e) {
+                processingEnv.getMessager()
+                        .printMessage(Diagnostic.Kind.ERROR,
+                                "fail generate messages. spec:" + messageSpec.value() + ", cause:" + e, element);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 設計ファイルを解析し、Messages.javaとmessages.propertiesを出力.
+     *
+     * @param element パッケージ
+     * @param messageSpec アノテーション
+     * @throws IOException I/O例外
+     */
+    private void generate(Element element, MessageSpec messageSpec) throws IOException {
+
+        DevGeneratorContext context = new DevGeneratorContext();
+        context.setExecuteOptions(ExecuteOptions.builder()
+                .target(resolveSpecFile(messageSpec.value()).toString())
+                .primaryLocale(StringUtils.defaultIfEmpty(messageSpec.primaryLocale(), null))
+                .enumShardSize(messageSpec.enumShardSize())
+                .resourceBundle(messageSpec.resourceBundle())
+                .build());
+
+        // 設計解析
+        SpecParseComponent.getInstance().execute(context);
+
+        MessageGenerateComponent component = MessageGenerateComponent.getInstance();
+
+        // Messages.java（メッセージ数が多い場合は分割される）
+        List<String> enumClassNames = component.getEnumClassNames(context);
+        for (int shard = 0; shard < enumClassNames.size(); shard++) {
+            JavaFileObject source = processingEnv.getFiler().createSourceFile(enumClassNames.get(shard), element);
+            try (Writer writer = source.openWriter()) {
+                component.writeEnum(context, shard, writer);
+            }
+        }
+
+        // メッセージコードの索引クラス
+        JavaFileObject lookup = processingEnv.getFiler()
+                .createSourceFile(component.getLookupClassName(context), element);
+        try (Writer writer = lookup.openWriter()) {
+            component.writeLookup(context, writer);
+        }
+
+        // messages.properties
+        for (Map.Entry<String, FunctionModel> entry : context.getFunctionModelMap().entrySet()) {
+            FileObject resource = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "",
+                            component.getPropertiesFileName(context, entry.getKey()), element);
+            try (OutputStream os = resource.openOutputStream()) {
+                component.writeProperties(entry.getValue(), os);
+            }
+
+            // コンパイル済リソースバンドル
+            if (messageSpec.resourceBundle()) {
+                JavaFileObject bundle = processingEnv.getFiler()
+                        .createSourceFile(component.getBundleClassName(context, entry.getKey()), element);
+                try (Writer writer = bundle.openWriter()) {
+                    component.writeBundle(context, entry.getKey(), entry.getValue(), writer);
+                }
+            }
+        }
+    }
+
+    /**
+     * 設計ファイルのパスを解決.
+     *
+     * @param value アノテーションに指定されたパス
+     * @return 設計ファイルのパス
+     */
+    private Path resolveSpecFile(String value) {
+        if (StringUtils.isEmpty(value)) {
+            throw new GeneratorException("spec file is not specified.");
+        }
+        Path specFile = Paths.get(value);
+        String specDir = processingEnv.getOptions().get(SPEC_DIR_OPTION);
+        if (!specFile.isAbsolute() && StringUtils.isNotEmpty(specDir)) {
+            specFile = Paths.get(specDir).resolve(specFile);
+        }
+        return specFile;
+    }
+
+}
@@ -0,0 +1,211 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.util;
+
+import com.epion_t3.devtools.bean.CommandModel;
+import com.epion_t3.devtools.bean.ConfigurationModel;
+import com.epion_t3.devtools.bean.FlowModel;
+import com.epion_t3.devtools.bean.Property;
+
+import java.security.MessageDigest;
+import java.util.Collection;
+
+/**
+ * モデルのフィールドからフィンガープリントを作成するビルダー.
+ * <p>
+ * モデルをシリアライズせず、フィールドを決まった順序でMessageDigestへ直接書き込む.
+ * 値の境界が曖昧にならないよう、文字列・リストは長さを前置し、nullは専用の印で区別する.
+ *
+ * @author takashno
+ */
+public final class FingerprintBuilder {
+
+    /**
+     * 印：null.
+     */
+    private static final byte NULL = 0;
+
+    /**
+     * 印：値あり.
+     */
+    private static final byte PRESENT = 1;
+
+    /**
+     * MessageDigest.
+     */
+    private final MessageDigest digest = HashUtils.newDigest();
+
+    /**
+     * 書き込み用のバッファ.
+     */
+    private final byte[] buffer = new byte[256];
+
+    /**
+     * 文字列を追加.
+     *
+     * @param value 文字列
+     * @return このビルダー
+     */
+    public FingerprintBuilder add(String value) {
+        if (value == null) {
+            digest.update(NULL);
+            return this;
+        }
+        digest.update(PRESENT);
+        addInt(value.length());
+        int position = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (position == buffer.length) {
+                digest.update(buffer, 0, position);
+                position = 0;
+            }
+            char c = value.charAt(i);
+            buffer[position++] = (byte) (c >>> 8);
+            buffer[position++] = (byte) c;
+        }
+        digest.update(buffer, 0, position);
+        return this;
+    }
+
+    /**
+     * 真偽値を追加.
+     *
+     * @param value 真偽値
+     * @return このビルダー
+     */
+    public FingerprintBuilder add(Boolean value) {
+        if (value == null) {
+            digest.update(NULL);
+        } else {
+            digest.update(PRESENT);
+            digest.update(value ? (byte) 1 : (byte) 0);
+        }
+        return this;
+    }
+
+    /**
+     * 文字列のリストを追加.
+     *
+     * @param values 文字列のリスト
+     * @return このビルダー
+     */
+    public FingerprintBuilder addStrings(Collection<String> values) {
+        if (addSize(values)) {
+            values.forEach(this::add);
+        }
+        return this;
+    }
+
+    /**
+     * メッセージを追加.
+     *
+     * @param property メッセージ
+     * @return このビルダー
+     */
+    public FingerprintBuilder add(Property property) {
+        if (property == null) {
+            digest.update(NULL);
+            return this;
+        }
+        digest.update(PRESENT);
+        return add(property.getKey()).add(property.getValue());
+    }
+
+    /**
+     * Flowを追加.
+     *
+     * @param flow Flow
+     * @return このビルダー
+     */
+    public FingerprintBuilder add(FlowModel flow) {
+        if (flow == null) {
+            digest.update(NULL);
+            return this;
+        }
+        digest.update(PRESENT);
+        return add(flow.getId())
+                .addStrings(flow.getSummary())
+                .addStrings(flow.getFunction())
+                .add(flow.getStructure())
+                .addStrings(flow.getStructureDescription());
+    }
+
+    /**
+     * コマンドを追加.
+     *
+     * @param command コマンド
+     * @return このビルダー
+     */
+    public FingerprintBuilder add(CommandModel command) {
+        if (command == null) {
+            digest.update(NULL);
+            return this;
+        }
+        digest.update(PRESENT);
+        return add(command.getId())
+                .add(command.getAssertCommand())
+                .add(command.getEvidenceCommand())
+                .addStrings(command.getSummary())
+                .addStrings(command.getFunction())
+                .add(command.getStructure())
+                .addStrings(command.getStructureDescription());
+    }
+
+    /**
+     * 設定を追加.
+     *
+     * @param configuration 設定
+     * @return このビルダー
+     */
+    public FingerprintBuilder add(ConfigurationModel configuration) {
+        if (configuration == null) {
+            digest.update(NULL);
+            return this;
+        }
+        digest.update(PRESENT);
+        return add(configuration.getId())
+                .addStrings(configuration.getSummaries())
+                .addStrings(configuration.getDescriptions())
+                .add(configuration.getStructure())
+                .addStrings(configuration.getStructureDescriptions());
+    }
+
+    /**
+     * リストの要素数を追加.
+     * <p>
+     * 要素はリストの順に呼び出し元で追加する.
+     *
+     * @param values リスト
+     * @return 要素がある場合（nullでない場合）true
+     */
+    public boolean addSize(Collection<?> values) {
+        if (values == null) {
+            digest.update(NULL);
+            return false;
+        }
+        digest.update(PRESENT);
+        addInt(values.size());
+        return true;
+    }
+
+    /**
+     * フィンガープリントを作成.
+     *
+     * @return フィンガープリント（16進数文字列）
+     */
+    public String build() {
+        return HashUtils.toHex(digest.digest());
+    }
+
+    /**
+     * 整数を追加.
+     *
+     * @param value 整数
+     */
+    private void addInt(int value) {
+        digest.update((byte) (value >>> 24));
+        digest.update((byte) (value >>> 16));
+        digest.update((byte) (value >>> 8));
+        digest.update((byte) value);
+    }
+
+}
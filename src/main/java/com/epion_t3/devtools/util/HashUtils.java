@@ -0,0 +1,105 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.util;
+
+import com.epion_t3.devtools.exception.GeneratorException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * ハッシュ計算ユーティリティ.
+ *
+ * @author takashno
+ */
+public final class HashUtils {
+
+    /**
+     * ハッシュアルゴリズム.
+     */
+    private static final String ALGORITHM = "SHA-256";
+
+    /**
+     * 16進数文字.
+     */
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * プライベートコンストラクタ.
+     */
+    private HashUtils() {
+        // Do Nothing...
+    }
+
+    /**
+     * MessageDigestを作成.
+     *
+     * @return MessageDigest
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new GeneratorException("unsupported hash algorithm. algorithm:" + ALGORITHM, e);
+        }
+    }
+
+    /**
+     * バイト配列のハッシュ値を取得.
+     *
+     * @param bytes バイト配列
+     * @return ハッシュ値（16進数文字列）
+     */
+    public static String hash(byte[] bytes) {
+        return toHex(newDigest().digest(bytes));
+    }
+
+    /**
+     * ファイルのハッシュ値を取得.
+     *
+     * @param path ファイルパス
+     * @return ハッシュ値（16進数文字列）
+     * @throws IOException I/O例外
+     */
+    public static String hash(Path path) throws IOException {
+        try (InputStream is = Files.newInputStream(path)) {
+            return hash(is);
+        }
+    }
+
+    /**
+     * ストリームのハッシュ値を取得.
+     *
+     * @param is 入力ストリーム
+     * @return ハッシュ値（16進数文字列）
+     * @throws IOException I/O例外
+     */
+    public static String hash(InputStream is) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = is.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * バイト配列を16進数文字列に変換.
+     *
+     * @param bytes バイト配列
+     * @return 16進数文字列
+     */
+    public static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0x0f];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0x0f];
+        }
+        return new String(chars);
+    }
+
+}
@@ -0,0 +1,99 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.util;
+
+import com.epion_t3.devtools.bean.DevGeneratorContext;
+import com.epion_t3.devtools.bean.FunctionModel;
+import com.epion_t3.devtools.exception.GeneratorException;
+import com.epion_t3.devtools.util.MetricsUtils.Measurement;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiConsumer;
+
+/**
+ * Locale毎の処理を実行するユーティリティ.
+ *
+ * @author takashno
+ */
+public final class LocaleTaskUtils {
+
+    /**
+     * プライベートコンストラクタ.
+     */
+    private LocaleTaskUtils() {
+        // Do Nothing...
+    }
+
+    /**
+     * Locale毎の機能モデルに対して処理を実行.
+     * <p>
+     * 実行オプションのLocale並列数が2以上の場合、コンテキストのExecutor（生成エンジンが生成処理の間共有するもの）で
+     * Locale毎の処理を並列に実行し、発生した全てのエラーをまとめて報告する.
+     * 1以下の場合、またはExecutorが設定されていない場合は逐次実行する.
+     * 全体を1つのフェーズとして計測し、並列に実行したLocale毎の処理のCPU時間と割り当てメモリはフェーズへ合算する.
+     *
+     * @param context コンテキスト
+     * @param phase 計測のフェーズ名
+     * @param task Locale毎の処理（引数はLocale文字列と機能モデル）
+     */
+    public static void forEachLocale(DevGeneratorContext context, String phase,
+            BiConsumer<String, FunctionModel> task) {
+        try (Measurement m = MetricsUtils.start(context, phase)) {
+            forEachLocale(context, m, task);
+        }
+    }
+
+    /**
+     * Locale毎の機能モデルに対して処理を実行.
+     *
+     * @param context コンテキスト
+     * @param measurement 計測
+     * @param task Locale毎の処理（引数はLocale文字列と機能モデル）
+     */
+    private static void forEachLocale(DevGeneratorContext context, Measurement measurement,
+            BiConsumer<String, FunctionModel> task) {
+
+        ExecutorService executorService = context.getLocaleExecutor();
+        if (executorService == null || context.getExecuteOptions().getLocaleParallelism() <= 1
+                || context.getFunctionModelMap().size() <= 1) {
+            context.getFunctionModelMap().forEach(task);
+            return;
+        }
+
+        Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<>();
+        for (Map.Entry<String, FunctionModel> entry : context.getFunctionModelMap().entrySet()) {
+            futures.put(entry.getKey(), CompletableFuture.runAsync(() -> {
+                try (Measurement m = measurement.worker()) {
+                    task.accept(entry.getKey(), entry.getValue());
+                }
+            }, executorService));
+        }
+
+        // 全てのLocaleの完了を待ち、エラーを収集する
+        List<String> errorLocales = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+        for (Map.Entry<String, CompletableFuture<Void>> future : futures.entrySet()) {
+            try {
+                future.getValue().join();
+            } catch (CompletionException e) {
+                errorLocales.add(future.getKey());
+                errors.add(e.getCause() != null ? e.getCause() : e);
+            }
+        }
+
+        if (errors.size() == 1) {
+            throw new GeneratorException("fail locale task. locale:" + errorLocales.get(0), errors.get(0));
+        } else if (!errors.isEmpty()) {
+            GeneratorException exception = new GeneratorException(
+                    "fail locale tasks. locales:" + errorLocales.toString(), errors.get(0));
+            errors.stream().skip(1).forEach(exception::addSuppressed);
+            throw exception;
+        }
+    }
+
+}
@@ -0,0 +1,177 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.util;
+
+import com.epion_t3.devtools.bean.DevGeneratorContext;
+import com.epion_t3.devtools.bean.MetricsReport;
+import com.epion_t3.devtools.bean.SpecMetrics;
+import com.epion_t3.devtools.exception.GeneratorException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * 処理フェーズの計測ユーティリティ.
+ *
+ * @author takashno
+ */
+public final class MetricsUtils {
+
+    /**
+     * 計測の終了.
+     */
+    @FunctionalInterface
+    public interface Measurement extends AutoCloseable {
+
+        /**
+         * 計測を終了し、計測値を加算する.
+         */
+        @Override
+        void close();
+
+        /**
+         * フェーズを開始したスレッド以外で実行する、フェーズの処理の計測を開始.
+         * <p>
+         * 処理を実行したスレッドのCPU時間と割り当てメモリのみをフェーズの計測値へ加算する（経過時間・計測回数は加算しない）.
+         * フェーズを開始したスレッドで呼び出された場合、その処理はフェーズの計測に含まれるため何もしない.
+         *
+         * @return 計測の終了（try-with-resourcesで利用する）
+         */
+        default Measurement worker() {
+            return NOOP;
+        }
+
+    }
+
+    /**
+     * 計測しない場合の終了処理.
+     */
+    private static final Measurement NOOP = () -> {
+        // Do Nothing...
+    };
+
+    /**
+     * スレッドのMXBean.
+     */
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    /**
+     * スレッド毎の割り当てメモリを取得できるMXBean（利用できないJVMの場合はnull）.
+     */
+    private static final com.sun.management.ThreadMXBean ALLOCATION_MX_BEAN = getAllocationMXBean();
+
+    /**
+     * プライベートコンストラクタ.
+     */
+    private MetricsUtils() {
+        // Do Nothing...
+    }
+
+    /**
+     * スレッド毎の割り当てメモリを取得できるMXBeanを取得.
+     *
+     * @return MXBean（利用できないJVMの場合はnull）
+     */
+    private static com.sun.management.ThreadMXBean getAllocationMXBean() {
+        if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).isThreadAllocatedMemorySupported()) {
+            return (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+        }
+        return null;
+    }
+
+    /**
+     * フェーズの計測を開始.
+     * <p>
+     * 呼び出し元スレッドの経過時間、CPU時間、割り当てメモリを計測する. 計測が無効な場合は何もしない.
+     * フェーズの処理を他のスレッド（並列解析のタスク、Locale毎の処理、出力スレッド）で実行する場合は、
+     * そのスレッドで{@link Measurement#worker()}の計測を行い、CPU時間と割り当てメモリをフェーズへ合算する.
+     *
+     * @param context コンテキスト
+     * @param phase フェーズ名
+     * @return 計測の終了（try-with-resourcesで利用する）
+     */
+    public static Measurement start(DevGeneratorContext context, String phase) {
+        SpecMetrics metrics = context.getMetrics();
+        if (metrics == null) {
+            return NOOP;
+        }
+        Thread phaseThread = Thread.currentThread();
+        long wallStart = System.nanoTime();
+        long cpuStart = currentThreadCpuTime();
+        long allocatedStart = threadAllocatedBytes(phaseThread.getId());
+        return new Measurement() {
+
+            @Override
+            public void close() {
+                metrics.getPhase(phase)
+                        .add(System.nanoTime() - wallStart, currentThreadCpuTime() - cpuStart,
+                                threadAllocatedBytes(phaseThread.getId()) - allocatedStart);
+            }
+
+            @Override
+            public Measurement worker() {
+                if (Thread.currentThread() == phaseThread) {
+                    return NOOP;
+                }
+                long threadId = Thread.currentThread().getId();
+                long workerCpuStart = currentThreadCpuTime();
+                long workerAllocatedStart = threadAllocatedBytes(threadId);
+                return () -> metrics.getPhase(phase)
+                        .addWorker(currentThreadCpuTime() - workerCpuStart,
+                                threadAllocatedBytes(threadId) - workerAllocatedStart);
+            }
+        };
+    }
+
+    /**
+     * 計測レポートをJSONで出力.
+     *
+     * @param output 出力先
+     * @param specMetrics 設計ファイル毎の計測値
+     */
+    public static void writeReport(Path output, Collection<SpecMetrics> specMetrics) {
+        MetricsReport report = new MetricsReport();
+        specMetrics.stream()
+                .sorted(Comparator.comparingLong(SpecMetrics::getWallNanos).reversed())
+                .forEach(x -> {
+                    report.getSpecs().add(x);
+                    report.getTotal().add(x);
+                });
+        report.getTotal().setSuccess(specMetrics.stream().allMatch(SpecMetrics::isSuccess));
+        try {
+            if (output.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(output.toAbsolutePath().getParent());
+            }
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+        } catch (IOException e) {
+            throw new GeneratorException("fail output metrics report. path:" + output.toString(), e);
+        }
+    }
+
+    /**
+     * 現在のスレッドのCPU時間を取得.
+     *
+     * @return CPU時間（ナノ秒、取得できない場合は0）
+     */
+    private static long currentThreadCpuTime() {
+        return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0L;
+    }
+
+    /**
+     * スレッドの割り当てメモリを取得.
+     *
+     * @param threadId スレッドID
+     * @return 割り当てメモリ（バイト、取得できない場合は0）
+     */
+    private static long threadAllocatedBytes(long threadId) {
+        return ALLOCATION_MX_BEAN != null ? ALLOCATION_MX_BEAN.getThreadAllocatedBytes(threadId) : 0L;
+    }
+
+}
@@ -0,0 +1,74 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.util;
+
+import com.epion_t3.devtools.bean.CommandModel;
+import com.epion_t3.devtools.bean.ConfigurationModel;
+import com.epion_t3.devtools.bean.FlowModel;
+import com.epion_t3.devtools.bean.FunctionModel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 解析済の出力モデルのメモリ使用量を削減するユーティリティ.
+ *
+ * @author takashno
+ */
+public final class ModelCompactUtils {
+
+    /**
+     * プライベートコンストラクタ.
+     */
+    private ModelCompactUtils() {
+        // Do Nothing...
+    }
+
+    /**
+     * 機能出力モデルと、そこから参照されるモデルのリストを詰める.
+     * <p>
+     * 要素が1つのリストは要素1つ分の不変リストへ置き換え、それ以外は容量を要素数まで縮める.
+     * 解析の完了後に呼び出すこと（以降の要素の追加は想定しない）.
+     *
+     * @param functionModel 機能出力モデル
+     */
+    public static void compact(FunctionModel functionModel) {
+        functionModel.setSummary(compact(functionModel.getSummary()));
+        functionModel.setDescription(compact(functionModel.getDescription()));
+        for (FlowModel flow : functionModel.getFlows().values()) {
+            flow.setSummary(compact(flow.getSummary()));
+            flow.setFunction(compact(flow.getFunction()));
+            flow.setStructureDescription(compact(flow.getStructureDescription()));
+        }
+        for (CommandModel command : functionModel.getCommands().values()) {
+            command.setSummary(compact(command.getSummary()));
+            command.setFunction(compact(command.getFunction()));
+            command.setStructureDescription(compact(command.getStructureDescription()));
+        }
+        for (ConfigurationModel configuration : functionModel.getConfigurations().values()) {
+            configuration.setSummaries(compact(configuration.getSummaries()));
+            configuration.setDescriptions(compact(configuration.getDescriptions()));
+            configuration.setStructureDescriptions(compact(configuration.getStructureDescriptions()));
+        }
+    }
+
+    /**
+     * リストを詰める.
+     *
+     * @param list リスト
+     * @return 詰めたリスト（nullの場合はnull）
+     */
+    private static List<String> compact(List<String> list) {
+        if (list == null) {
+            return null;
+        }
+        if (list.size() == 1) {
+            return Collections.singletonList(list.get(0));
+        }
+        if (list instanceof ArrayList) {
+            ((ArrayList<String>) list).trimToSize();
+        }
+        return list;
+    }
+
+}
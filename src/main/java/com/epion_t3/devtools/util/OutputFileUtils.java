@@ -0,0 +1,138 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.util;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 出力ファイルの書き込みユーティリティ.
+ *
+ * @author takashno
+ */
+public final class OutputFileUtils {
+
+    /**
+     * 出力処理.
+     */
+    @FunctionalInterface
+    public interface OutputWriter {
+
+        /**
+         * 出力ストリームへ内容を書き込む.
+         *
+         * @param os 出力ストリーム
+         * @throws IOException I/O例外
+         */
+        void write(OutputStream os) throws IOException;
+
+    }
+
+    /**
+     * プライベートコンストラクタ.
+     */
+    private OutputFileUtils() {
+        // Do Nothing...
+    }
+
+    /**
+     * 内容に変更がある場合のみファイルを置き換える.
+     * <p>
+     * 出力先と同じディレクトリの一時ファイルへ書き込み、既存ファイルとサイズ・ハッシュ値を比較する.
+     * 同一であれば一時ファイルを破棄して既存ファイルの更新日時を維持し、異なる場合はアトミックに置き換える.
+     * 一時ファイルは通常のファイル作成と同じ権限（umask）で作成し、既存ファイルがある場合はその権限を引き継ぐ.
+     *
+     * @param target 出力先
+     * @param writer 出力処理
+     * @return ファイルを書き込んだ場合true、内容が同一で書き込まなかった場合false
+     * @throws IOException I/O例外
+     */
+    public static boolean writeIfChanged(Path target, OutputWriter writer) throws IOException {
+        Path dir = target.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = createTempFile(dir, target.getFileName().toString());
+        try {
+            try (OutputStream os = new BufferedOutputStream(
+                    Files.newOutputStream(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))) {
+                writer.write(os);
+            }
+            if (isSameContent(target, temp)) {
+                return false;
+            }
+            copyPermissions(target, temp);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 出力先と同じディレクトリに一時ファイルを作成.
+     * <p>
+     * Files.createTempFileは所有者のみの権限で作成するため、通常のファイル作成と同じく既定の権限（umask）で作成する.
+     *
+     * @param dir ディレクトリ
+     * @param fileName 出力先のファイル名
+     * @return 一時ファイル
+     * @throws IOException I/O例外
+     */
+    private static Path createTempFile(Path dir, String fileName) throws IOException {
+        while (true) {
+            Path temp = dir
+                    .resolve("." + fileName + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+            try {
+                Files.newOutputStream(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE).close();
+                return temp;
+            } catch (FileAlreadyExistsException e) {
+                // 別の一時ファイルと名前が衝突した場合は作り直す
+            }
+        }
+    }
+
+    /**
+     * 既存ファイルの権限を置き換え後のファイルへ引き継ぐ.
+     * <p>
+     * 既存ファイルが無い場合、またはPOSIXの権限に対応しないファイルシステムの場合は何もしない.
+     *
+     * @param existing 既存ファイル
+     * @param replacement 置き換え後のファイル
+     * @throws IOException I/O例外
+     */
+    private static void copyPermissions(Path existing, Path replacement) throws IOException {
+        if (!Files.isRegularFile(existing)
+                || !existing.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            return;
+        }
+        Files.setPosixFilePermissions(replacement, Files.getPosixFilePermissions(existing));
+    }
+
+    /**
+     * 2つのファイルの内容が同一であるか判定.
+     * <p>
+     * サイズが異なる場合はハッシュ値を計算せずに異なると判定する.
+     *
+     * @param existing 既存ファイル
+     * @param candidate 比較対象
+     * @return 同一の場合true
+     * @throws IOException I/O例外
+     */
+    private static boolean isSameContent(Path existing, Path candidate) throws IOException {
+        if (!Files.isRegularFile(existing) || Files.size(existing) != Files.size(candidate)) {
+            return false;
+        }
+        return HashUtils.hash(existing).equals(HashUtils.hash(candidate));
+    }
+
+}
@@ -0,0 +1,220 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.util;
+
+import com.epion_t3.devtools.bean.DevGeneratorContext;
+import com.epion_t3.devtools.bean.FunctionModel;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * 設計ファイルのセクション毎のフィンガープリントを扱うユーティリティ.
+ * <p>
+ * 機能情報・メッセージ・Flow・コマンド・設定のフィンガープリントをLocale毎に、Enumの列挙子とJavaDocのフィンガープリントを
+ * 全Locale共通で算出する. 出力の種類毎に依存するセクションを定義し、依存するセクションが前回の生成から変わっていない
+ * 出力は再生成を省略できる. フィンガープリントはモデルをシリアライズせず、フィールドを決まった順序で
+ * {@link FingerprintBuilder}へ書き込んで算出する.
+ *
+ * @author takashno
+ */
+public final class SectionFingerprintUtils {
+
+    /**
+     * セクション：機能情報.
+     */
+    public static final String INFO = "info";
+
+    /**
+     * セクション：メッセージ.
+     */
+    public static final String MESSAGES = "messages";
+
+    /**
+     * セクション：Enumの列挙子とJavaDoc（全Locale共通）.
+     * <p>
+     * 主Localeの解決と他のLocaleによる補完、Enumの分割を行った後の内容であり、Enumの生成時に算出する.
+     */
+    public static final String MESSAGE_DOCS = "messageDocs";
+
+    /**
+     * セクション：Flow.
+     */
+    public static final String FLOWS = "flows";
+
+    /**
+     * セクション：コマンド.
+     */
+    public static final String COMMANDS = "commands";
+
+    /**
+     * セクション：設定.
+     */
+    public static final String CONFIGURATIONS = "configurations";
+
+    /**
+     * セクション：ドキュメントのテンプレート（ドキュメント生成時に解決したテンプレートのハッシュ値）.
+     */
+    public static final String TEMPLATE = "template";
+
+    /**
+     * 出力：messages.properties.
+     */
+    public static final String OUTPUT_PROPERTIES = "properties";
+
+    /**
+     * 出力：コンパイル済リソースバンドル.
+     */
+    public static final String OUTPUT_BUNDLE = "bundle";
+
+    /**
+     * 出力：Messages.javaと索引クラス（JavaDocには主Localeのメッセージを他のLocaleで補完して利用する）.
+     */
+    public static final String OUTPUT_ENUM = "enum";
+
+    /**
+     * 出力：ドキュメント（機能ドキュメント、または索引）.
+     */
+    public static final String OUTPUT_DOCUMENT = "document";
+
+    /**
+     * 出力毎に依存するセクション.
+     */
+    private static final Map<String, List<String>> DEPENDENCIES = Map.of(
+            OUTPUT_PROPERTIES, Arrays.asList(MESSAGES),
+            OUTPUT_BUNDLE, Arrays.asList(INFO, MESSAGES),
+            OUTPUT_ENUM, Arrays.asList(INFO, MESSAGE_DOCS),
+            OUTPUT_DOCUMENT, Arrays.asList(INFO, MESSAGES, FLOWS, COMMANDS, CONFIGURATIONS, TEMPLATE));
+
+    /**
+     * フィンガープリントのキーの接頭辞.
+     */
+    private static final String KEY_PREFIX = "section.";
+
+    /**
+     * プライベートコンストラクタ.
+     */
+    private SectionFingerprintUtils() {
+        // Do Nothing...
+    }
+
+    /**
+     * 解析済の機能出力モデルからセクション毎のフィンガープリントを算出し、コンテキストへ設定.
+     *
+     * @param context コンテキスト
+     */
+    public static void compute(DevGeneratorContext context) {
+        for (Map.Entry<String, FunctionModel> entry : context.getFunctionModelMap().entrySet()) {
+            String lang = entry.getKey();
+            FunctionModel fom = entry.getValue();
+            put(context, lang, INFO, new FingerprintBuilder()
+                    .add(fom.getLabelName())
+                    .add(fom.getName())
+                    .add(fom.getCustomPackage())
+                    .addStrings(fom.getSummary())
+                    .addStrings(fom.getDescription()));
+            put(context, lang, MESSAGES, digest(fom.getMessages().values(), FingerprintBuilder::add));
+            put(context, lang, FLOWS, digest(fom.getFlows().values(), FingerprintBuilder::add));
+            put(context, lang, COMMANDS, digest(fom.getCommands().values(), FingerprintBuilder::add));
+            put(context, lang, CONFIGURATIONS, digest(fom.getConfigurations().values(), FingerprintBuilder::add));
+        }
+    }
+
+    /**
+     * Enumの列挙子とJavaDocのフィンガープリントを全Locale共通のセクションとしてコンテキストへ設定.
+     *
+     * @param context コンテキスト
+     * @param shards 分割したEnum毎のメッセージキーとJavaDocの対応
+     */
+    public static void putMessageDocs(DevGeneratorContext context, List<Map<String, String>> shards) {
+        FingerprintBuilder builder = new FingerprintBuilder();
+        builder.addSize(shards);
+        for (Map<String, String> shard : shards) {
+            builder.addSize(shard.keySet());
+            shard.forEach((key, doc) -> builder.add(key).add(doc));
+        }
+        put(context, null, MESSAGE_DOCS, builder);
+    }
+
+    /**
+     * ドキュメントのテンプレートのハッシュ値をLocale毎のセクションのフィンガープリントとしてコンテキストへ設定.
+     *
+     * @param context コンテキスト
+     * @param lang Locale文字列
+     * @param templateHash テンプレートのハッシュ値
+     */
+    public static void putTemplate(DevGeneratorContext context, String lang, String templateHash) {
+        context.getFingerprints().put(createKey(lang, TEMPLATE), templateHash);
+    }
+
+    /**
+     * 出力が依存するセクションに前回の生成から変更が無く、出力ファイルが全て存在するかを判定.
+     * <p>
+     * 変更が無い場合、出力ファイルは内容が同一のファイルとしてコンテキストへ追加される.
+     * フィンガープリントが算出されていない、または前回の値が無い場合は常に変更ありとする.
+     *
+     * @param context コンテキスト
+     * @param output 出力の種類
+     * @param lang Locale文字列（Locale毎のセクションの対象）
+     * @param outputFiles 出力ファイル
+     * @return 再生成が不要な場合true
+     */
+    public static boolean isUpToDate(DevGeneratorContext context, String output, String lang,
+            Collection<Path> outputFiles) {
+        for (String section : DEPENDENCIES.get(output)) {
+            String key = createKey(section.equals(MESSAGE_DOCS) ? null : lang, section);
+            String fingerprint = context.getFingerprints().get(key);
+            if (fingerprint == null || !fingerprint.equals(context.getPreviousFingerprints().get(key))) {
+                return false;
+            }
+        }
+        if (!outputFiles.stream().allMatch(Files::exists)) {
+            return false;
+        }
+        outputFiles.forEach(x -> context.addOutputFile(x.toString(), false));
+        return true;
+    }
+
+    /**
+     * セクションの要素を順に追加したフィンガープリントを作成.
+     *
+     * @param values セクションの要素
+     * @param digest フィンガープリントへの要素の追加処理
+     * @param <T> 要素の型
+     * @return フィンガープリントを作成するビルダー
+     */
+    private static <T> FingerprintBuilder digest(Collection<T> values, BiConsumer<FingerprintBuilder, T> digest) {
+        FingerprintBuilder builder = new FingerprintBuilder();
+        builder.addSize(values);
+        values.forEach(x -> digest.accept(builder, x));
+        return builder;
+    }
+
+    /**
+     * セクションのフィンガープリントをコンテキストへ設定.
+     *
+     * @param context コンテキスト
+     * @param lang Locale文字列（全Locale共通の場合はnull）
+     * @param section セクション
+     * @param builder セクションの内容を追加したビルダー
+     */
+    private static void put(DevGeneratorContext context, String lang, String section, FingerprintBuilder builder) {
+        context.getFingerprints().put(createKey(lang, section), builder.build());
+    }
+
+    /**
+     * フィンガープリントのキーを作成.
+     *
+     * @param lang Locale文字列（全Locale共通の場合はnull）
+     * @param section セクション
+     * @return キー
+     */
+    private static String createKey(String lang, String section) {
+        return lang == null ? KEY_PREFIX + section : KEY_PREFIX + lang + "." + section;
+    }
+
+}
@@ -0,0 +1,181 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.util;
+
+import com.epion_t3.devtools.exception.GeneratorException;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 設計ファイルの解決ユーティリティ.
+ *
+ * @author takashno
+ */
+public final class SpecFileUtils {
+
+    /**
+     * 設計ファイルとみなすファイルのパターン.
+     */
+    private static final PathMatcher SPEC_FILE_MATCHER = FileSystems.getDefault()
+            .getPathMatcher("glob:**.{yaml,yml}");
+
+    /**
+     * プライベートコンストラクタ.
+     */
+    private SpecFileUtils() {
+        // Do Nothing...
+    }
+
+    /**
+     * バッチ対象の指定から設計ファイルの一覧を解決する.
+     * <p>
+     * 以下のいずれかの指定を受け付ける.
+     * <ul>
+     * <li>ディレクトリ : 配下の *.yaml / *.yml を再帰的に対象とする</li>
+     * <li>Glob : 例) plugins/&#42;&#42;/spec/&#42;.yaml</li>
+     * <li>リストファイル : 1行1パスで記載したファイル（空行と#始まりの行は無視）</li>
+     * </ul>
+     *
+     * @param batchTarget バッチ対象の指定
+     * @return 設計ファイルのパス一覧（ソート済）
+     */
+    public static List<Path> resolve(String batchTarget) {
+        if (StringUtils.isEmpty(batchTarget)) {
+            throw new GeneratorException("batch target is required.");
+        }
+        try {
+            if (isGlob(batchTarget)) {
+                return resolveGlob(batchTarget);
+            }
+            Path path = Paths.get(batchTarget);
+            if (Files.isDirectory(path)) {
+                return resolveDirectory(path);
+            } else if (Files.isRegularFile(path)) {
+                if (isSpecFile(path)) {
+                    return List.of(path);
+                }
+                return resolveListFile(path);
+            }
+            throw new GeneratorException("batch target not found. path:" + batchTarget);
+        } catch (IOException e) {
+            throw new GeneratorException("fail resolve batch target. target:" + batchTarget, e);
+        }
+    }
+
+    /**
+     * Globの指定であるか判定.
+     *
+     * @param batchTarget バッチ対象の指定
+     * @return Globの場合true
+     */
+    public static boolean isGlob(String batchTarget) {
+        return StringUtils.containsAny(batchTarget, '*', '?', '[', '{');
+    }
+
+    /**
+     * Globの探索の起点となるディレクトリを取得.
+     * <p>
+     * Glob文字を含まない先頭のディレクトリとする.
+     *
+     * @param glob Glob
+     * @return 起点のディレクトリ
+     */
+    public static Path getGlobBaseDir(String glob) {
+        String normalized = glob.replace('\\', '/');
+        int baseEnd = getGlobBaseEnd(normalized);
+        return baseEnd < 0 ? Paths.get(".") : Paths.get(normalized.substring(0, baseEnd + 1));
+    }
+
+    /**
+     * 設計ファイルとみなすファイルであるか判定.
+     *
+     * @param path ファイルパス
+     * @return *.yaml / *.yml の場合true
+     */
+    public static boolean isSpecFile(Path path) {
+        return SPEC_FILE_MATCHER.matches(path.toAbsolutePath());
+    }
+
+    /**
+     * ディレクトリ配下の設計ファイルを解決.
+     *
+     * @param dir ディレクトリ
+     * @return 設計ファイルのパス一覧
+     * @throws IOException I/O例外
+     */
+    private static List<Path> resolveDirectory(Path dir) throws IOException {
+        try (Stream<Path> stream = Files.walk(dir)) {
+            return stream.filter(Files::isRegularFile)
+                    .filter(SpecFileUtils::isSpecFile)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Globに合致する設計ファイルを解決.
+     * <p>
+     * Glob文字を含まない先頭のディレクトリを起点として探索する.
+     *
+     * @param glob Glob
+     * @return 設計ファイルのパス一覧
+     * @throws IOException I/O例外
+     */
+    private static List<Path> resolveGlob(String glob) throws IOException {
+        String normalized = glob.replace('\\', '/');
+        int baseEnd = getGlobBaseEnd(normalized);
+        Path baseDir = getGlobBaseDir(normalized);
+        if (!Files.isDirectory(baseDir)) {
+            throw new GeneratorException("batch target not found. path:" + baseDir.toString());
+        }
+        PathMatcher matcher = FileSystems.getDefault()
+                .getPathMatcher("glob:" + (baseEnd < 0 ? normalized : normalized.substring(baseEnd + 1)));
+        try (Stream<Path> stream = Files.walk(baseDir)) {
+            return stream.filter(Files::isRegularFile)
+                    .filter(x -> matcher.matches(baseDir.relativize(x)))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Glob文字を含まない先頭のディレクトリの末尾（区切り文字）の位置を取得.
+     *
+     * @param normalized 区切り文字を「/」に統一したGlob
+     * @return 区切り文字の位置（ディレクトリを含まない場合は-1）
+     */
+    private static int getGlobBaseEnd(String normalized) {
+        int firstGlobChar = StringUtils.indexOfAny(normalized, '*', '?', '[', '{');
+        return normalized.lastIndexOf('/', firstGlobChar);
+    }
+
+    /**
+     * リストファイルに記載された設計ファイルを解決.
+     * <p>
+     * 相対パスはリストファイルのディレクトリを起点として解決する.
+     *
+     * @param listFile リストファイル
+     * @return 設計ファイルのパス一覧
+     * @throws IOException I/O例外
+     */
+    private static List<Path> resolveListFile(Path listFile) throws IOException {
+        Path baseDir = listFile.toAbsolutePath().getParent();
+        try (Stream<String> lines = Files.lines(listFile, StandardCharsets.UTF_8)) {
+            return lines.map(String::trim)
+                    .filter(StringUtils::isNotEmpty)
+                    .filter(x -> !x.startsWith("#"))
+                    .map(x -> baseDir.resolve(x).normalize())
+                    .collect(Collectors.toList());
+        }
+    }
+
+}
@@ -0,0 +1,128 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.util;
+
+import com.epion_t3.core.common.bean.spec.Content;
+import com.epion_t3.core.common.bean.spec.Structure;
+import com.epion_t3.core.common.type.StructureType;
+import com.epion_t3.devtools.bean.LocaleIndex;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.List;
+
+/**
+ * 構成（Structure）からYAML形式の構成例を作成するユーティリティ.
+ * <p>
+ * 構成の木を1回だけ走査し、Localeに依存しない部分（インデント・プロパティ名）は全Locale共通で作成、
+ * 概要のみLocale毎の出力へ振り分ける.
+ *
+ * @author takashno
+ */
+public final class StructureYamlUtils {
+
+    /**
+     * 構成例の先頭.
+     */
+    private static final String HEADER = "commands : \n";
+
+    /**
+     * 事前に作成しておくインデントの階層数.
+     */
+    private static final int INDENT_CACHE_SIZE = 32;
+
+    /**
+     * 階層毎のインデント文字列.
+     */
+    private static final String[] INDENTS = new String[INDENT_CACHE_SIZE];
+
+    static {
+        for (int i = 0; i < INDENT_CACHE_SIZE; i++) {
+            INDENTS[i] = "  ".repeat(i + 1);
+        }
+    }
+
+    /**
+     * プライベートコンストラクタ.
+     */
+    private StructureYamlUtils() {
+        // Do Nothing...
+    }
+
+    /**
+     * 全Localeの構成例を作成.
+     *
+     * @param structures 構成
+     * @param localeIndex 対象Locale
+     * @return 構成例（LocaleIndexの順）
+     */
+    public static String[] render(List<Structure> structures, LocaleIndex localeIndex) {
+        StringBuilder[] builders = new StringBuilder[localeIndex.size()];
+        for (int i = 0; i < builders.length; i++) {
+            builders[i] = new StringBuilder(HEADER).append(indent(0)).append("- ");
+        }
+        if (structures != null) {
+            renderRecursive(structures, 0, localeIndex, builders);
+        }
+        String[] results = new String[builders.length];
+        for (int i = 0; i < builders.length; i++) {
+            results[i] = builders[i].toString();
+        }
+        return results;
+    }
+
+    /**
+     * 構成を再帰的に出力.
+     * <p>
+     * 最上位の先頭プロパティはリストの記号に続けて出力し、以降のプロパティと配下の階層を1段深くする.
+     *
+     * @param structures 構成
+     * @param level 階層
+     * @param localeIndex 対象Locale
+     * @param builders Locale毎の出力先
+     */
+    private static void renderRecursive(List<Structure> structures, int level, LocaleIndex localeIndex,
+            StringBuilder[] builders) {
+        int childLevel = level == 0 ? 2 : level + 1;
+        String levelSpace = indent(level == 0 ? 1 : level);
+        boolean first = level == 0;
+        for (Structure structure : structures) {
+
+            // Localeに依存しない部分
+            String skeleton = (first ? "" : levelSpace) + structure.getName() + ": ";
+            first = false;
+            for (StringBuilder sb : builders) {
+                sb.append(skeleton);
+            }
+
+            // 概要
+            if (structure.getSummary() != null) {
+                for (Content content : structure.getSummary()) {
+                    int index = localeIndex.indexOf(content.getLang());
+                    if (index >= 0 && content.getContents() != null) {
+                        builders[index].append(StringUtils.remove(content.getContents(), '\\'));
+                    }
+                }
+            }
+
+            for (StringBuilder sb : builders) {
+                sb.append('\n');
+            }
+
+            // TODO : objectであるのに、配下のプロパティが存在しない場合にNullPointerExceptionになるため一時的に回避
+            if (StructureType.valueOfByValue(structure.getType()) == StructureType.OBJECT
+                    && structure.getProperty() != null) {
+                renderRecursive(structure.getProperty(), childLevel, localeIndex, builders);
+            }
+        }
+    }
+
+    /**
+     * 階層に応じたインデント文字列を取得.
+     *
+     * @param level 階層
+     * @return インデント文字列
+     */
+    private static String indent(int level) {
+        return level < INDENT_CACHE_SIZE ? INDENTS[level] : "  ".repeat(level + 1);
+    }
+
+}
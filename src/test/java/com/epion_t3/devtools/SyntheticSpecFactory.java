@@ -0,0 +1,145 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 性能計測・試験用の合成設計ファイルを作成する.
+ *
+ * @author takashno
+ */
+public final class SyntheticSpecFactory {
+
+    /**
+     * 利用するLocale（先頭から順に利用する）.
+     */
+    public static final List<String> LANGUAGES = Arrays.asList("ja_JP", "en_US", "fr_FR", "de_DE", "zh_CN",
+            "ko_KR", "es_ES", "it_IT", "pt_BR", "ru_RU");
+
+    /**
+     * 構成の各階層に含めるプロパティ数.
+     */
+    private static final int PROPERTIES_PER_LEVEL = 3;
+
+    /**
+     * プライベートコンストラクタ.
+     */
+    private SyntheticSpecFactory() {
+        // Do Nothing...
+    }
+
+    /**
+     * 合成設計ファイルを出力.
+     * <p>
+     * コマンドはentities件、Flow・設定はentities/4件（最低1件）、メッセージはentities*4件作成する.
+     *
+     * @param specFile 出力先
+     * @param entities エンティティ数
+     * @param depth 構成の階層数
+     * @param locales Locale数（1〜10）
+     * @return 出力先
+     * @throws IOException I/O例外
+     */
+    public static Path write(Path specFile, int entities, int depth, int locales) throws IOException {
+        List<String> languages = LANGUAGES.subList(0, Math.max(1, Math.min(locales, LANGUAGES.size())));
+        try (Writer w = Files.newBufferedWriter(specFile, StandardCharsets.UTF_8)) {
+            w.write("t3: 1.0\n");
+            w.write("languages:\n");
+            for (String lang : languages) {
+                w.write("  - " + lang + "\n");
+            }
+            w.write("info:\n");
+            w.write("  labelName: Synthetic\n");
+            w.write("  name: synthetic\n");
+            w.write("  customPackage: com.epion_t3.synthetic\n");
+            writeContents(w, "  ", "summary", languages, "Synthetic function summary");
+            writeContents(w, "  ", "description", languages, "Synthetic function description");
+
+            int groups = Math.max(1, entities / 4);
+
+            w.write("flows:\n");
+            for (int i = 0; i < groups; i++) {
+                w.write("  - id: Flow" + i + "\n");
+                writeContents(w, "    ", "summary", languages, "Flow " + i + " summary");
+                writeOrdered(w, "function", languages, "Flow " + i + " function");
+                writeStructure(w, "    ", languages, depth, 0);
+            }
+
+            w.write("commands:\n");
+            for (int i = 0; i < entities; i++) {
+                w.write("  - id: Command" + i + "\n");
+                w.write("    assertCommand: " + (i % 3 == 0) + "\n");
+                w.write("    evidenceCommand: " + (i % 5 == 0) + "\n");
+                writeContents(w, "    ", "summary", languages, "Command " + i + " summary");
+                writeOrdered(w, "function", languages, "Command " + i + " function");
+                writeStructure(w, "    ", languages, depth, 0);
+            }
+
+            w.write("configurations:\n");
+            for (int i = 0; i < groups; i++) {
+                w.write("  - id: Configuration" + i + "\n");
+                writeContents(w, "    ", "summary", languages, "Configuration " + i + " summary");
+                writeOrdered(w, "description", languages, "Configuration " + i + " description");
+                writeStructure(w, "    ", languages, depth, 0);
+            }
+
+            w.write("messages:\n");
+            for (int i = 0; i < entities * 4; i++) {
+                w.write("  - id: com.epion_t3.synthetic.err." + String.format("%05d", i) + "\n");
+                writeContents(w, "    ", "message", languages, "Synthetic message " + i + " : {0}");
+            }
+        }
+        return specFile;
+    }
+
+    /**
+     * Locale毎のコンテンツを出力.
+     */
+    private static void writeContents(Writer w, String indent, String name, List<String> languages, String text)
+            throws IOException {
+        w.write(indent + name + ":\n");
+        for (String lang : languages) {
+            w.write(indent + "  - lang: " + lang + "\n");
+            w.write(indent + "    contents: \"" + lang + " " + text + "\"\n");
+        }
+    }
+
+    /**
+     * 順序付きのコンテンツ（function、description）を出力.
+     */
+    private static void writeOrdered(Writer w, String name, List<String> languages, String text)
+            throws IOException {
+        w.write("    " + name + ":\n");
+        for (int order = 3; order >= 1; order--) {
+            w.write("      - order: " + order + "\n");
+            writeContents(w, "        ", "summary", languages, text + " " + order);
+        }
+    }
+
+    /**
+     * 構成を再帰的に出力.
+     */
+    private static void writeStructure(Writer w, String indent, List<String> languages, int depth, int level)
+            throws IOException {
+        w.write(indent + (level == 0 ? "structure" : "property") + ":\n");
+        for (int i = 0; i < PROPERTIES_PER_LEVEL; i++) {
+            boolean object = i == 0 && level + 1 < depth;
+            w.write(indent + "  - order: " + (i + 1) + "\n");
+            w.write(indent + "    name: prop" + level + "_" + i + "\n");
+            w.write(indent + "    required: " + (i == 0) + "\n");
+            w.write(indent + "    type: " + (object ? "object" : "string") + "\n");
+            writeContents(w, indent + "    ", "summary", languages, "Property " + level + "-" + i + " \\\\summary");
+            writeContents(w, indent + "    ", "description", languages, "Property " + level + "-" + i);
+            if (object) {
+                writeStructure(w, indent + "    ", languages, depth, level + 1);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.app;
+
+import com.epion_t3.devtools.SyntheticSpecFactory;
+import com.epion_t3.devtools.bean.ExecuteOptions;
+import com.epion_t3.devtools.bean.GenerateResult;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * バッチ生成の試験.
+ *
+ * @author takashno
+ */
+public class BatchGeneratorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * 解析に失敗する設計ファイルがあっても、他の設計ファイルが生成されることを確認.
+     *
+     * @throws Exception 例外
+     */
+    @Test
+    public void failureIsIsolatedPerSpec() throws Exception {
+        Path root = temporaryFolder.getRoot().toPath();
+        Path specDir = Files.createDirectories(root.resolve("specs"));
+        Files.write(specDir.resolve("a_broken.yaml"), "languages: [ja_JP\n".getBytes(StandardCharsets.UTF_8));
+        SyntheticSpecFactory.write(specDir.resolve("b_ok.yaml"), 4, 1, 1);
+
+        List<GenerateResult> results = BatchGenerator.getInstance()
+                .execute(ExecuteOptions.builder()
+                        .batch(specDir.toString())
+                        .docOutput(root.resolve("docs").toString())
+                        .parallelism(2)
+                        .build());
+
+        assertEquals(2, results.size());
+        assertFalse(results.get(0).isSuccess());
+        assertTrue(results.get(1).isSuccess());
+        assertTrue(Files.exists(root.resolve("docs/synthetic_spec_ja_JP.md")));
+        assertEquals(1, Application.getExitCode(results));
+        assertEquals(0, Application.getExitCode(results.subList(1, 2)));
+    }
+
+    /**
+     * Locale並列数を指定した場合に、全ての設計ファイルを逐次実行と同じ内容で生成し、終了後にLocale毎の処理のスレッドが残らないことを確認.
+     *
+     * @throws Exception 例外
+     */
+    @Test
+    public void shareLocaleExecutor() throws Exception {
+        Path root = temporaryFolder.getRoot().toPath();
+        Path specDir = Files.createDirectories(root.resolve("specs"));
+        for (int i = 0; i < 3; i++) {
+            SyntheticSpecFactory.write(specDir.resolve("spec" + i + ".yaml"), 4, 1, 3);
+        }
+
+        for (String name : Arrays.asList("sequential", "parallel")) {
+            List<GenerateResult> results = BatchGenerator.getInstance()
+                    .execute(ExecuteOptions.builder()
+                            .batch(specDir.toString())
+                            .docOutput(root.resolve(name).toString())
+                            .parallelism(3)
+                            .localeParallelism(name.equals("parallel") ? 3 : 1)
+                            .force(true)
+                            .build());
+            assertTrue(results.stream().allMatch(GenerateResult::isSuccess));
+        }
+        for (String lang : Arrays.asList("ja_JP", "en_US", "fr_FR")) {
+            String fileName = "synthetic_spec_" + lang + ".md";
+            assertArrayEquals(Files.readAllBytes(root.resolve("sequential").resolve(fileName)),
+                    Files.readAllBytes(root.resolve("parallel").resolve(fileName)));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (localeThreads() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, localeThreads());
+    }
+
+    /**
+     * 生成タスクがErrorで終了した場合も、その設計ファイルのみ失敗とした結果となることを確認.
+     *
+     * @throws Exception 例外
+     */
+    @Test
+    public void errorIsRecordedAsFailedResult() throws Exception {
+        StackOverflowError error = new StackOverflowError();
+        CompletableFuture<GenerateResult> future = new CompletableFuture<>();
+        future.completeExceptionally(error);
+
+        GenerateResult result = BatchGenerator.getInstance().getResult(future, Paths.get("deep.yaml"));
+
+        assertFalse(result.isSuccess());
+        assertEquals("deep.yaml", result.getTarget());
+        assertSame(error, result.getError());
+    }
+
+    /**
+     * Locale毎の処理のスレッド数を取得.
+     *
+     * @return 生存しているスレッド数
+     */
+    private long localeThreads() {
+        return Thread.getAllStackTraces()
+                .keySet()
+                .stream()
+                .filter(x -> x.getName().startsWith("et3-devtools-locale-"))
+                .count();
+    }
+
+}
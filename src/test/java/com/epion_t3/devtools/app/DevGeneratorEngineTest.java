@@ -0,0 +1,130 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.app;
+
+import com.epion_t3.devtools.SyntheticSpecFactory;
+import com.epion_t3.devtools.bean.ExecuteOptions;
+import com.epion_t3.devtools.bean.GenerateResult;
+import com.epion_t3.devtools.exception.GeneratorException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 生成エンジンのエラー処理の試験.
+ *
+ * @author takashno
+ */
+public class DevGeneratorEngineTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * 生成中に発生したErrorが失敗した生成結果として返却されることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void errorAsFailedResult() throws IOException {
+        AssertionError error = new AssertionError("locale task error");
+        GenerateResult result = generateWithFailingExecutor(error);
+
+        assertFalse(result.isSuccess());
+        assertSame(error, result.getError());
+        assertTrue(result.getTarget().endsWith("spec.yaml"));
+        assertNotNull(result.getMetrics());
+    }
+
+    /**
+     * 生成中に発生した検査例外が失敗した生成結果として返却されることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void checkedExceptionAsFailedResult() throws IOException {
+        Exception exception = new Exception("locale task checked exception");
+        GenerateResult result = generateWithFailingExecutor(exception);
+
+        assertFalse(result.isSuccess());
+        assertSame(exception, result.getError());
+    }
+
+    /**
+     * 設計ファイルのストリームの読み込みに失敗した場合に、対象を設定した失敗の生成結果が返却されることを確認.
+     */
+    @Test
+    public void streamReadFailure() {
+        InputStream spec = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("broken stream");
+            }
+        };
+        GenerateResult result = DevGeneratorEngine.getInstance().generate(spec, ExecuteOptions.builder().build());
+
+        assertFalse(result.isSuccess());
+        assertTrue(result.getError() instanceof GeneratorException);
+        assertEquals("broken stream", result.getError().getCause().getMessage());
+        assertNotNull(result.getTarget());
+        assertFalse(DevGeneratorEngine.STREAM_TARGET.equals(result.getTarget()));
+        assertFalse(Files.exists(Paths.get(result.getTarget())));
+    }
+
+    /**
+     * Locale毎の処理の実行時に例外を送出するExecutorを指定して生成.
+     *
+     * @param throwable 送出する例外
+     * @return 生成結果
+     * @throws IOException I/O例外
+     */
+    private GenerateResult generateWithFailingExecutor(Throwable throwable) throws IOException {
+        Path root = temporaryFolder.getRoot().toPath();
+        Path specFile = SyntheticSpecFactory.write(root.resolve("spec.yaml"), 4, 1, 2);
+        ThreadPoolExecutor localeExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>()) {
+            @Override
+            public void execute(Runnable command) {
+                DevGeneratorEngineTest.<RuntimeException> sneakyThrow(throwable);
+            }
+        };
+        try {
+            return DevGeneratorEngine.getInstance()
+                    .generate(ExecuteOptions.builder()
+                            .target(specFile.toString())
+                            .docOutput(root.resolve("doc").toString())
+                            .localeParallelism(2)
+                            .metricsOutput(root.resolve("metrics.json").toString())
+                            .build(), localeExecutor);
+        } finally {
+            localeExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * 検査例外を宣言せずに送出.
+     *
+     * @param throwable 送出する例外
+     * @param <E> 送出する例外の型
+     * @throws E 例外
+     */
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> void sneakyThrow(Throwable throwable) throws E {
+        throw (E) throwable;
+    }
+
+}
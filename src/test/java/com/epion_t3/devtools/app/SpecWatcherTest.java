@@ -0,0 +1,140 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.app;
+
+import com.epion_t3.devtools.SyntheticSpecFactory;
+import com.epion_t3.devtools.bean.ExecuteOptions;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 設計ファイルの監視の試験.
+ * <p>
+ * 監視を別スレッドで開始し、ファイルを変更してから出力が再生成されるまで待機する.
+ *
+ * @author takashno
+ */
+public class SpecWatcherTest {
+
+    /**
+     * 待機の上限（秒）.
+     */
+    private static final long TIMEOUT_SECONDS = 20L;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * 監視スレッド.
+     */
+    private Thread watcher;
+
+    @After
+    public void tearDown() throws InterruptedException {
+        if (watcher != null) {
+            watcher.interrupt();
+            watcher.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+            assertFalse(watcher.isAlive());
+        }
+    }
+
+    /**
+     * 設計ファイルを変更した場合に再生成されることを確認.
+     *
+     * @throws Exception 例外
+     */
+    @Test
+    public void regenerateOnSpecChange() throws Exception {
+        Path root = temporaryFolder.getRoot().toPath();
+        Path specFile = SyntheticSpecFactory.write(root.resolve("spec.yaml"), 4, 1, 1);
+        Path document = root.resolve("doc").resolve("synthetic_spec_ja_JP.md");
+
+        start(ExecuteOptions.builder().target(specFile.toString()).docOutput(root.resolve("doc").toString()));
+        await(() -> Files.exists(document));
+
+        String spec = new String(Files.readAllBytes(specFile), StandardCharsets.UTF_8);
+        Files.write(specFile, spec.replace("ja_JP Synthetic function summary", "ja_JP Watched function summary")
+                .getBytes(StandardCharsets.UTF_8));
+        await(() -> read(document).contains("ja_JP Watched function summary"));
+    }
+
+    /**
+     * バッチ対象のディレクトリ配下に作成されたディレクトリが監視され、追加された設計ファイルが生成されることを確認.
+     *
+     * @throws Exception 例外
+     */
+    @Test
+    public void watchCreatedDirectory() throws Exception {
+        Path root = temporaryFolder.getRoot().toPath();
+        Path specDir = Files.createDirectories(root.resolve("specs"));
+        SyntheticSpecFactory.write(specDir.resolve("spec.yaml"), 4, 1, 1);
+        Path docDir = root.resolve("doc");
+
+        start(ExecuteOptions.builder().batch(specDir.toString()).docOutput(docDir.toString()));
+        await(() -> Files.exists(docDir.resolve("synthetic_spec_ja_JP.md")));
+
+        Path added = SyntheticSpecFactory.write(root.resolve("added.yaml"), 4, 1, 1);
+        String spec = new String(Files.readAllBytes(added), StandardCharsets.UTF_8).replace("name: synthetic",
+                "name: added");
+        // ディレクトリの作成と設計ファイルの追加を別のイベントとして検知させる
+        Path nested = Files.createDirectories(specDir.resolve("nested").resolve("deeper"));
+        Thread.sleep(500);
+        Files.write(nested.resolve("added.yaml"), spec.getBytes(StandardCharsets.UTF_8));
+        Path document = docDir.resolve("added_spec_ja_JP.md");
+        await(() -> Files.exists(document));
+
+        Files.write(nested.resolve("added.yaml"),
+                spec.replace("ja_JP Synthetic function summary", "ja_JP Nested function summary")
+                        .getBytes(StandardCharsets.UTF_8));
+        await(() -> read(document).contains("ja_JP Nested function summary"));
+    }
+
+    /**
+     * 監視を別スレッドで開始.
+     *
+     * @param options 実行オプションのビルダー
+     */
+    private void start(ExecuteOptions.ExecuteOptionsBuilder options) {
+        ExecuteOptions executeOptions = options.watch(true).debounceMillis(50L).build();
+        watcher = new Thread(() -> SpecWatcher.getInstance().watch(executeOptions), "spec-watcher-test");
+        watcher.start();
+    }
+
+    /**
+     * 条件を満たすまで待機.
+     *
+     * @param condition 条件
+     * @throws Exception 例外
+     */
+    private void await(Callable<Boolean> condition) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (!condition.call()) {
+            assertTrue("timeout", System.nanoTime() < deadline);
+            assertTrue("watcher stopped", watcher.isAlive());
+            Thread.sleep(20);
+        }
+    }
+
+    /**
+     * ファイルの内容を取得（存在しない場合は空文字）.
+     *
+     * @param file ファイル
+     * @return ファイルの内容
+     * @throws IOException I/O例外
+     */
+    private String read(Path file) throws IOException {
+        return Files.exists(file) ? new String(Files.readAllBytes(file), StandardCharsets.UTF_8) : "";
+    }
+
+}
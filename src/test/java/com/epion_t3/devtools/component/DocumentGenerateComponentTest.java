@@ -0,0 +1,193 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.component;
+
+import com.epion_t3.devtools.SyntheticSpecFactory;
+import com.epion_t3.devtools.app.DevGeneratorEngine;
+import com.epion_t3.devtools.bean.ExecuteOptions;
+import com.epion_t3.devtools.bean.GenerateResult;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * ドキュメント生成コンポーネントのFlow・コマンド・設定毎のドキュメントの試験.
+ *
+ * @author takashno
+ */
+public class DocumentGenerateComponentTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * 設計ファイル.
+     */
+    private Path specFile;
+
+    /**
+     * ドキュメントの出力先.
+     */
+    private Path docOutput;
+
+    /**
+     * キャッシュマニフェストの出力先.
+     */
+    private Path cacheDir;
+
+    @Before
+    public void setUp() throws IOException {
+        specFile = temporaryFolder.getRoot().toPath().resolve("spec.yaml");
+        docOutput = temporaryFolder.newFolder("doc").toPath();
+        cacheDir = temporaryFolder.newFolder("cache").toPath();
+    }
+
+    /**
+     * 置き換えや大文字・小文字の違いで衝突するIDが、別のファイル名となることを確認.
+     */
+    @Test
+    public void createFileNamesWithoutCollision() {
+        List<String> ids = Arrays.asList("a_b", "a:b", "a;b", "a.b", "日本", "中国", "Foo", "foo", "plain", "x y");
+        Map<String, String> fileNames = DocumentGenerateComponent.createFileNames(ids);
+
+        assertEquals(ids.size(), new HashSet<>(fileNames.values()).size());
+        assertEquals(ids.size(),
+                fileNames.values().stream().map(x -> x.toLowerCase()).collect(Collectors.toSet()).size());
+        // 置き換えが不要なID、衝突しないIDはそのままのファイル名となる
+        assertEquals("a_b.md", fileNames.get("a_b"));
+        assertEquals("a.b.md", fileNames.get("a.b"));
+        assertEquals("Foo.md", fileNames.get("Foo"));
+        assertEquals("plain.md", fileNames.get("plain"));
+        assertEquals("x_y.md", fileNames.get("x y"));
+        assertTrue(fileNames.get("a:b"), fileNames.get("a:b").matches("a_b_[0-9a-f]{8}\\.md"));
+        assertTrue(fileNames.get("a;b"), fileNames.get("a;b").matches("a_b_[0-9a-f]{8}\\.md"));
+        assertTrue(fileNames.get("foo"), fileNames.get("foo").matches("foo_[0-9a-f]{8}\\.md"));
+        assertTrue(fileNames.get("日本"), fileNames.get("日本").matches("___[0-9a-f]{8}\\.md"));
+
+        // 衝突の判定はIDの順序に依存しない
+        Map<String, String> reversed = DocumentGenerateComponent.createFileNames(Arrays.asList("a;b", "a:b", "a_b"));
+        assertEquals("a_b.md", reversed.get("a_b"));
+        assertEquals(fileNames.get("a:b"), reversed.get("a:b"));
+        assertEquals(fileNames.get("a;b"), reversed.get("a;b"));
+    }
+
+    /**
+     * 設計ファイルから削除されたモデルのドキュメントが削除されることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void deleteRemovedEntities() throws IOException {
+        SyntheticSpecFactory.write(specFile, 8, 1, 2);
+        generate();
+        Path commandDir = docOutput.resolve("synthetic_spec_en_US").resolve("commands");
+        assertEquals(8, list(commandDir).size());
+
+        SyntheticSpecFactory.write(specFile, 4, 1, 2);
+        generate();
+        assertEquals(Arrays.asList("Command0.md", "Command1.md", "Command2.md", "Command3.md"), list(commandDir));
+        assertEquals(Arrays.asList("Flow0.md"), list(docOutput.resolve("synthetic_spec_en_US").resolve("flows")));
+        assertEquals(Arrays.asList("Configuration0.md"),
+                list(docOutput.resolve("synthetic_spec_ja_JP").resolve("configurations")));
+    }
+
+    /**
+     * モデルのフィンガープリントが、内容を変更したモデルのドキュメントでのみ変わることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void fingerprintChangedEntityOnly() throws IOException {
+        SyntheticSpecFactory.write(specFile, 8, 1, 2);
+        generate();
+        Map<String, String> before = fingerprints();
+
+        String spec = new String(Files.readAllBytes(specFile), StandardCharsets.UTF_8);
+        Files.write(specFile,
+                spec.replace("en_US Command 1 summary", "en_US Command 1 changed").getBytes(StandardCharsets.UTF_8));
+        generate();
+        Map<String, String> after = fingerprints();
+
+        assertEquals(before.keySet(), after.keySet());
+        Set<String> changed = before.keySet()
+                .stream()
+                .filter(x -> !before.get(x).equals(after.get(x)))
+                .collect(Collectors.toSet());
+        assertEquals(Collections.singleton(
+                docOutput.resolve("synthetic_spec_en_US").resolve("commands").resolve("Command1.md").toString()),
+                changed);
+    }
+
+    /**
+     * Flow・コマンド・設定毎のドキュメントを生成.
+     *
+     * @throws IOException I/O例外
+     */
+    private void generate() throws IOException {
+        GenerateResult result = DevGeneratorEngine.getInstance()
+                .generate(ExecuteOptions.builder()
+                        .target(specFile.toString())
+                        .docOutput(docOutput.toString())
+                        .cacheDir(cacheDir.toString())
+                        .entityDocuments(true)
+                        .build());
+        assertTrue(String.valueOf(result.getError()), result.isSuccess());
+    }
+
+    /**
+     * キャッシュマニフェストからドキュメント毎のフィンガープリントを取得.
+     *
+     * @return 出力ファイルのパスとフィンガープリントのマップ
+     * @throws IOException I/O例外
+     */
+    private Map<String, String> fingerprints() throws IOException {
+        Path manifestPath;
+        try (Stream<Path> files = Files.walk(cacheDir)) {
+            manifestPath = files.filter(x -> x.toString().endsWith(".properties")).findFirst().get();
+        }
+        Properties manifest = new Properties();
+        try (InputStream is = Files.newInputStream(manifestPath)) {
+            manifest.load(is);
+        }
+        Map<String, String> fingerprints = new TreeMap<>();
+        for (String key : manifest.stringPropertyNames()) {
+            if (key.startsWith("fingerprint.") && key.endsWith(".md") && !key.endsWith("index.md")) {
+                fingerprints.put(key.substring("fingerprint.".length()), manifest.getProperty(key));
+            }
+        }
+        return fingerprints;
+    }
+
+    /**
+     * ディレクトリ配下のファイル名を名前順に取得.
+     *
+     * @param dir ディレクトリ
+     * @return ファイル名
+     * @throws IOException I/O例外
+     */
+    private List<String> list(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(x -> x.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+
+}
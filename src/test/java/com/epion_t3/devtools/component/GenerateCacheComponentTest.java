@@ -0,0 +1,176 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.component;
+
+import com.epion_t3.devtools.SyntheticSpecFactory;
+import com.epion_t3.devtools.app.DevGeneratorEngine;
+import com.epion_t3.devtools.bean.ExecuteOptions;
+import com.epion_t3.devtools.bean.GenerateResult;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 差分生成のためのキャッシュコンポーネントの試験.
+ * <p>
+ * 同じ実行オプションで2回生成し、2回目の生成がスキップされるか（前回の生成結果が有効と判定されるか）を確認する.
+ *
+ * @author takashno
+ */
+public class GenerateCacheComponentTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * 設計ファイル.
+     */
+    private Path specFile;
+
+    /**
+     * ユーザーテンプレートディレクトリ.
+     */
+    private Path templateDir;
+
+    /**
+     * 機能ドキュメント（ja_JP）.
+     */
+    private Path jaDocument;
+
+    @Before
+    public void setUp() throws IOException {
+        Path root = temporaryFolder.getRoot().toPath();
+        specFile = SyntheticSpecFactory.write(root.resolve("spec.yaml"), 4, 1, 2);
+        templateDir = temporaryFolder.newFolder("templates").toPath();
+        jaDocument = root.resolve("doc").resolve("synthetic_spec_ja_JP.md");
+    }
+
+    /**
+     * 変更が無い場合にスキップされることを確認.
+     */
+    @Test
+    public void skipUnchanged() {
+        assertFalse(generate(options()).isSkipped());
+        GenerateResult result = generate(options());
+        assertTrue(result.isSkipped());
+        assertEquals(0, result.getWrittenCount());
+    }
+
+    /**
+     * 設計ファイルを変更した場合に再生成されることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void regenerateOnSpecEdit() throws IOException {
+        generate(options());
+        String spec = new String(Files.readAllBytes(specFile), StandardCharsets.UTF_8);
+        Files.write(specFile, spec.replace("ja_JP Synthetic function summary", "ja_JP Edited function summary")
+                .getBytes(StandardCharsets.UTF_8));
+
+        assertFalse(generate(options()).isSkipped());
+        assertTrue(read(jaDocument).contains("ja_JP Edited function summary"));
+        assertTrue(generate(options()).isSkipped());
+    }
+
+    /**
+     * 実行オプション・出力先を変更した場合に再生成されることを確認.
+     */
+    @Test
+    public void regenerateOnOptionChange() {
+        generate(options());
+        assertFalse(generate(options().enumShardSize(5)).isSkipped());
+        assertTrue(generate(options().enumShardSize(5)).isSkipped());
+
+        Path otherDoc = temporaryFolder.getRoot().toPath().resolve("other");
+        assertFalse(generate(options().enumShardSize(5).docOutput(otherDoc.toString())).isSkipped());
+        assertTrue(Files.exists(otherDoc.resolve("synthetic_spec_ja_JP.md")));
+    }
+
+    /**
+     * 出力ファイルが削除されている場合に再生成されることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void regenerateOnDeletedOutput() throws IOException {
+        generate(options());
+        Files.delete(jaDocument);
+
+        GenerateResult result = generate(options());
+        assertFalse(result.isSkipped());
+        assertTrue(Files.exists(jaDocument));
+    }
+
+    /**
+     * 強制生成の場合に再生成されることを確認.
+     */
+    @Test
+    public void regenerateOnForce() {
+        generate(options());
+        assertFalse(generate(options().force(true)).isSkipped());
+    }
+
+    /**
+     * ユーザーテンプレートディレクトリへ優先されるテンプレートを追加した場合に再生成されることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void regenerateOnTemplateAdded() throws IOException {
+        generate(options());
+        Files.write(templateDir.resolve("function-ja_JP.mustache"), "user {{name}}".getBytes(StandardCharsets.UTF_8));
+
+        assertFalse(generate(options()).isSkipped());
+        assertEquals("user synthetic", read(jaDocument));
+        assertTrue(generate(options()).isSkipped());
+    }
+
+    /**
+     * 実行オプションのビルダーを作成.
+     *
+     * @return 実行オプションのビルダー
+     */
+    private ExecuteOptions.ExecuteOptionsBuilder options() {
+        Path root = temporaryFolder.getRoot().toPath();
+        return ExecuteOptions.builder()
+                .target(specFile.toString())
+                .messageOutput(root.resolve("resources").toString())
+                .javaOutput(root.resolve("java").toString() + "/")
+                .docOutput(root.resolve("doc").toString())
+                .templateDir(templateDir.toString());
+    }
+
+    /**
+     * 生成.
+     *
+     * @param options 実行オプションのビルダー
+     * @return 生成結果
+     */
+    private GenerateResult generate(ExecuteOptions.ExecuteOptionsBuilder options) {
+        GenerateResult result = DevGeneratorEngine.getInstance().generate(options.build());
+        assertTrue(String.valueOf(result.getError()), result.isSuccess());
+        return result;
+    }
+
+    /**
+     * ファイルの内容を取得.
+     *
+     * @param file ファイル
+     * @return ファイルの内容
+     * @throws IOException I/O例外
+     */
+    private String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,392 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.component;
+
+import com.epion_t3.core.message.Messages;
+import com.epion_t3.devtools.SyntheticSpecFactory;
+import com.epion_t3.devtools.app.DevGeneratorEngine;
+import com.epion_t3.devtools.bean.ExecuteOptions;
+import com.epion_t3.devtools.bean.GenerateResult;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * メッセージ定義生成コンポーネントのEnum分割の試験.
+ *
+ * @author takashno
+ */
+public class MessageGenerateComponentTest {
+
+    /**
+     * 合成設計ファイルのメッセージ数.
+     */
+    private static final int MESSAGES = 20;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * 設計ファイル.
+     */
+    private Path specFile;
+
+    @Before
+    public void setUp() throws IOException {
+        specFile = SyntheticSpecFactory.write(temporaryFolder.getRoot().toPath().resolve("spec.yaml"), MESSAGES / 4,
+                1, 2);
+    }
+
+    /**
+     * 分割単位の境界で分割数とクラス名が決まることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void splitBoundaries() throws IOException {
+        assertEquals(Arrays.asList("SyntheticMessages.java", "SyntheticMessagesLookup.java"),
+                generate("size20", MESSAGES));
+        assertEquals(Arrays.asList("SyntheticMessages.java", "SyntheticMessages2.java",
+                "SyntheticMessagesLookup.java"), generate("size19", MESSAGES - 1));
+        assertEquals(Arrays.asList("SyntheticMessages.java", "SyntheticMessages2.java",
+                "SyntheticMessagesLookup.java"), generate("size10", MESSAGES / 2));
+        assertEquals(Arrays.asList("SyntheticMessages.java", "SyntheticMessages2.java", "SyntheticMessages3.java",
+                "SyntheticMessagesLookup.java"), generate("size9", MESSAGES / 2 - 1));
+
+        Path size19 = javaOutput("size19");
+        assertEquals(MESSAGES, countEnumerators(size19.resolve("SyntheticMessages.java"))
+                + countEnumerators(size19.resolve("SyntheticMessages2.java")));
+    }
+
+    /**
+     * メッセージを追加・削除しても分割数が変わらない限り、既存の列挙子が属するEnumが変わらないことを確認.
+     * 分割数が増えた場合も、既存の列挙子は元のEnumに留まるか増えたEnumへ移動するのみであることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void stableShardAssignment() throws IOException {
+        generate("out", MESSAGES / 2 - 1);
+        Map<String, String> before = enumeratorClasses("out");
+        assertEquals(MESSAGES, before.size());
+
+        // キー順の途中へメッセージを追加（分割数は3のまま）
+        addMessage("00001.added");
+        generate("out", MESSAGES / 2 - 1);
+        Map<String, String> added = enumeratorClasses("out");
+        assertEquals(MESSAGES + 1, added.size());
+        before.forEach((k, v) -> assertEquals(k, v, added.get(k)));
+
+        // メッセージを削除（分割数は3のまま）
+        edit("  - id: com.epion_t3.synthetic.err.00003\n    message:\n"
+                + "      - lang: ja_JP\n        contents: \"ja_JP Synthetic message 3 : {0}\"\n"
+                + "      - lang: en_US\n        contents: \"en_US Synthetic message 3 : {0}\"\n", "");
+        generate("out", MESSAGES / 2 - 1);
+        Map<String, String> removed = enumeratorClasses("out");
+        assertEquals(MESSAGES, removed.size());
+        added.remove("SYNTHETIC_ERR_00003");
+        assertEquals(added, removed);
+
+        // 分割数が2から3へ増える場合、既存の列挙子は元のEnumか増えたEnumにのみ属する
+        generate("grow", MESSAGES / 2);
+        Map<String, String> twoShards = enumeratorClasses("grow");
+        generate("grow", MESSAGES / 2 - 1);
+        Map<String, String> threeShards = enumeratorClasses("grow");
+        assertEquals(new HashSet<>(Arrays.asList("SyntheticMessages", "SyntheticMessages2")),
+                new HashSet<>(twoShards.values()));
+        assertTrue(threeShards.containsValue("SyntheticMessages3"));
+        twoShards.forEach((k, v) -> assertTrue(k + ":" + threeShards.get(k),
+                threeShards.get(k).equals(v) || threeShards.get(k).equals("SyntheticMessages3")));
+    }
+
+    /**
+     * 分割したEnumの列挙子を、索引クラスからメッセージコードで取得できることを確認.
+     *
+     * @throws Exception 例外
+     */
+    @Test
+    public void lookupShardedEnums() throws Exception {
+        generate("out", MESSAGES / 4);
+        try (URLClassLoader classLoader = compile("out")) {
+            Method of = classLoader.loadClass("com.epion_t3.synthetic.messages.SyntheticMessagesLookup")
+                    .getMethod("of", String.class);
+            for (int i = 0; i < MESSAGES; i++) {
+                String code = "com.epion_t3.synthetic.err." + String.format("%05d", i);
+                Messages value = (Messages) of.invoke(null, code);
+                assertEquals(code, value.getMessageCode());
+            }
+            assertNull(of.invoke(null, "com.epion_t3.synthetic.err.missing"));
+        }
+    }
+
+    /**
+     * メッセージ数が分割単位と同じ場合は、分割しない場合と同じ内容となることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void thresholdUnchanged() throws IOException {
+        generate("threshold", MESSAGES);
+        generate("default", new ExecuteOptions().getEnumShardSize());
+
+        for (String fileName : Arrays.asList("SyntheticMessages.java", "SyntheticMessagesLookup.java")) {
+            assertArrayEquals(fileName, Files.readAllBytes(javaOutput("default").resolve(fileName)),
+                    Files.readAllBytes(javaOutput("threshold").resolve(fileName)));
+        }
+        assertEquals(MESSAGES, countEnumerators(javaOutput("threshold").resolve("SyntheticMessages.java")));
+    }
+
+    /**
+     * 分割数が変わった場合に、生成されなくなったEnumが削除されることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void deleteStaleEnums() throws IOException {
+        assertEquals(Arrays.asList("SyntheticMessages.java", "SyntheticMessages2.java", "SyntheticMessages3.java",
+                "SyntheticMessagesLookup.java"), generate("out", MESSAGES / 2 - 1));
+        assertEquals(Arrays.asList("SyntheticMessages.java", "SyntheticMessages2.java",
+                "SyntheticMessagesLookup.java"), generate("out", MESSAGES / 2));
+        assertEquals(Arrays.asList("SyntheticMessages.java", "SyntheticMessagesLookup.java"),
+                generate("out", MESSAGES));
+        assertEquals(Arrays.asList("SyntheticMessages.java", "SyntheticMessages2.java",
+                "SyntheticMessagesLookup.java"), generate("out", MESSAGES - 1));
+    }
+
+    /**
+     * 主Localeで未定義のメッセージを補完しているLocaleのメッセージを変更した場合に、Enumが再生成されることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void regenerateOnFallbackMessageChange() throws IOException {
+        edit("      - lang: ja_JP\n        contents: \"ja_JP Synthetic message 0 : {0}\"\n", "");
+        generate("out", MESSAGES);
+        Path enumJava = javaOutput("out").resolve("SyntheticMessages.java");
+        assertTrue(read(enumJava).contains("en_US Synthetic message 0 : {0}"));
+
+        edit("en_US Synthetic message 0 :", "en_US Synthetic message 0 changed :");
+        generate("out", MESSAGES);
+        assertTrue(read(enumJava).contains("en_US Synthetic message 0 changed : {0}"));
+    }
+
+    /**
+     * Localeの並び順を変更して主Localeが変わった場合に、Enumが再生成されることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void regenerateOnLanguagesReorder() throws IOException {
+        generate("out", MESSAGES);
+        Path enumJava = javaOutput("out").resolve("SyntheticMessages.java");
+        assertTrue(read(enumJava).contains("ja_JP Synthetic message 1 : {0}"));
+
+        edit("languages:\n  - ja_JP\n  - en_US\n", "languages:\n  - en_US\n  - ja_JP\n");
+        generate("out", MESSAGES);
+        assertTrue(read(enumJava).contains("en_US Synthetic message 1 : {0}"));
+        assertFalse(read(enumJava).contains("ja_JP Synthetic message 1 : {0}"));
+    }
+
+    /**
+     * 機能名がJavaの識別子として利用できない場合も、Enum・索引クラス・コンパイル済リソースバンドルが
+     * コンパイルでき、リソースバンドルを基底名で取得できることを確認.
+     *
+     * @throws Exception 例外
+     */
+    @Test
+    public void hyphenatedName() throws Exception {
+        edit("  name: synthetic\n", "  name: et3-synthetic\n");
+        generate("out", ExecuteOptions.builder().resourceBundle(true));
+        assertEquals(Arrays.asList("Et3SyntheticMessages.java", "Et3SyntheticMessagesBundle_en_US.java",
+                "Et3SyntheticMessagesBundle_ja_JP.java", "Et3SyntheticMessagesLookup.java"), list(javaOutput("out")));
+
+        try (URLClassLoader classLoader = compile("out")) {
+            ResourceBundle bundle = ResourceBundle.getBundle(
+                    "com.epion_t3.synthetic.messages.Et3SyntheticMessagesBundle", new Locale("ja", "JP"),
+                    classLoader);
+            assertEquals("ja_JP Synthetic message 1 : {0}", bundle.getString("com.epion_t3.synthetic.err.00001"));
+            Messages value = (Messages) classLoader.loadClass("com.epion_t3.synthetic.messages.Et3SyntheticMessages")
+                    .getField("ET3_SYNTHETIC_ERR_00001")
+                    .get(null);
+            assertEquals("com.epion_t3.synthetic.err.00001", value.getMessageCode());
+        }
+    }
+
+    /**
+     * 分割単位を指定してメッセージ定義を生成.
+     *
+     * @param name 出力先のディレクトリ名
+     * @param enumShardSize 分割単位
+     * @return 出力されたEnum・索引クラスのファイル名（名前順）
+     * @throws IOException I/O例外
+     */
+    private List<String> generate(String name, int enumShardSize) throws IOException {
+        return generate(name, ExecuteOptions.builder().enumShardSize(enumShardSize));
+    }
+
+    /**
+     * 実行オプションを指定してメッセージ定義を生成.
+     *
+     * @param name 出力先のディレクトリ名
+     * @param options 実行オプションのビルダー（対象・出力先は設定する）
+     * @return 出力されたEnum・索引クラスのファイル名（名前順）
+     * @throws IOException I/O例外
+     */
+    private List<String> generate(String name, ExecuteOptions.ExecuteOptionsBuilder options) throws IOException {
+        Path root = temporaryFolder.getRoot().toPath().resolve(name);
+        GenerateResult result = DevGeneratorEngine.getInstance()
+                .generate(options.target(specFile.toString())
+                        .messageOutput(root.resolve("resources").toString())
+                        .javaOutput(root.resolve("java").toString() + "/")
+                        .build());
+        assertTrue(String.valueOf(result.getError()), result.isSuccess());
+        return list(javaOutput(name));
+    }
+
+    /**
+     * 生成したJavaソースをコンパイルしてロードするクラスローダーを作成.
+     *
+     * @param name 出力先のディレクトリ名
+     * @return クラスローダー
+     * @throws IOException I/O例外
+     */
+    private URLClassLoader compile(String name) throws IOException {
+        Path sourceDir = temporaryFolder.getRoot().toPath().resolve(name).resolve("java");
+        Path classDir = temporaryFolder.newFolder(name + "-classes").toPath();
+        List<String> args = new ArrayList<>(Arrays.asList("-nowarn", "-encoding", "UTF-8", "-cp",
+                System.getProperty("java.class.path"), "-d", classDir.toString()));
+        try (Stream<Path> files = Files.walk(sourceDir)) {
+            args.addAll(files.filter(x -> x.toString().endsWith(".java"))
+                    .map(Path::toString)
+                    .collect(Collectors.toList()));
+        }
+        assertEquals(0, ToolProvider.getSystemJavaCompiler().run(null, null, null, args.toArray(new String[0])));
+        return new URLClassLoader(new URL[] { classDir.toUri().toURL() }, getClass().getClassLoader());
+    }
+
+    /**
+     * ディレクトリ配下のファイル名を名前順に取得.
+     *
+     * @param dir ディレクトリ
+     * @return ファイル名
+     * @throws IOException I/O例外
+     */
+    private List<String> list(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(x -> x.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * 設計ファイルへメッセージを追加.
+     *
+     * @param number メッセージ番号
+     * @throws IOException I/O例外
+     */
+    private void addMessage(String number) throws IOException {
+        String message = "  - id: com.epion_t3.synthetic.err." + number + "\n    message:\n"
+                + "      - lang: ja_JP\n        contents: \"ja_JP Added message\"\n";
+        edit("messages:\n", "messages:\n" + message);
+    }
+
+    /**
+     * 設計ファイルの内容を置き換え.
+     *
+     * @param target 置き換える文字列
+     * @param replacement 置き換え後の文字列
+     * @throws IOException I/O例外
+     */
+    private void edit(String target, String replacement) throws IOException {
+        String spec = read(specFile);
+        assertTrue(target, spec.contains(target));
+        Files.write(specFile, spec.replace(target, replacement).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * ファイルの内容を取得.
+     *
+     * @param file ファイル
+     * @return ファイルの内容
+     * @throws IOException I/O例外
+     */
+    private String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Enum・索引クラスの出力先を取得.
+     *
+     * @param name 出力先のディレクトリ名
+     * @return 出力先
+     */
+    private Path javaOutput(String name) {
+        return temporaryFolder.getRoot()
+                .toPath()
+                .resolve(name)
+                .resolve("java")
+                .resolve("com/epion_t3/synthetic/messages");
+    }
+
+    /**
+     * 列挙子と列挙子が属するEnumのクラス名の対応を取得.
+     *
+     * @param name 出力先のディレクトリ名
+     * @return 列挙子名とクラス名の対応
+     * @throws IOException I/O例外
+     */
+    private Map<String, String> enumeratorClasses(String name) throws IOException {
+        Map<String, String> enumeratorClasses = new HashMap<>();
+        try (Stream<Path> files = Files.list(javaOutput(name))) {
+            for (Path enumJava : files.filter(x -> !x.getFileName().toString().endsWith("Lookup.java"))
+                    .collect(Collectors.toList())) {
+                String className = enumJava.getFileName().toString().replace(".java", "");
+                try (Stream<String> lines = Files.lines(enumJava)) {
+                    lines.map(String::trim)
+                            .filter(x -> x.startsWith("SYNTHETIC_"))
+                            .map(x -> x.substring(0, x.indexOf('(')))
+                            .forEach(x -> assertNull(x, enumeratorClasses.put(x, className)));
+                }
+            }
+        }
+        return enumeratorClasses;
+    }
+
+    /**
+     * Enumの列挙子の数を取得.
+     *
+     * @param enumJava Enumのソース
+     * @return 列挙子の数
+     * @throws IOException I/O例外
+     */
+    private long countEnumerators(Path enumJava) throws IOException {
+        try (Stream<String> lines = Files.lines(enumJava)) {
+            return lines.filter(x -> x.trim().startsWith("SYNTHETIC_")).count();
+        }
+    }
+
+}
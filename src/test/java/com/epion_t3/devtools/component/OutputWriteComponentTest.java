@@ -0,0 +1,137 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.component;
+
+import com.epion_t3.devtools.bean.DevGeneratorContext;
+import com.epion_t3.devtools.exception.GeneratorException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 出力ファイルの書き込み処理の試験.
+ *
+ * @author takashno
+ */
+public class OutputWriteComponentTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * 作業ディレクトリ.
+     */
+    private Path dir;
+
+    /**
+     * コンテキスト.
+     */
+    private DevGeneratorContext context;
+
+    @Before
+    public void setUp() {
+        dir = temporaryFolder.getRoot().toPath();
+        context = new DevGeneratorContext();
+    }
+
+    /**
+     * 出力内容がI/O専用のスレッドで出力ファイルへ書き込まれることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void writeOnOutputThread() throws IOException {
+        Path target = dir.resolve("out.txt");
+        AtomicReference<String> threadName = new AtomicReference<>();
+        OutputWriteComponent.getInstance().submit(context, target, os -> {
+            threadName.set(Thread.currentThread().getName());
+            os.write("content".getBytes(StandardCharsets.UTF_8));
+        });
+        OutputWriteComponent.getInstance().execute(context);
+
+        assertEquals("content", new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+        assertTrue(threadName.get(), threadName.get().startsWith("et3-output-"));
+        assertEquals(1, context.getWrittenCount().get());
+        assertTrue(context.getPendingOutputs().isEmpty());
+    }
+
+    /**
+     * 出力処理の失敗が出力先を含む例外となり、一時ファイルが残らないことを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void reportFailureWithPath() throws IOException {
+        Path target = dir.resolve("broken.txt");
+        OutputWriteComponent.getInstance().submit(context, target, os -> {
+            os.write("partial".getBytes(StandardCharsets.UTF_8));
+            throw new IOException("broken");
+        });
+        try {
+            OutputWriteComponent.getInstance().execute(context);
+            fail();
+        } catch (GeneratorException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(target.toString()));
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    /**
+     * 中断時に未実行の出力が取り消され、実行中の出力の完了を待つことを確認.
+     *
+     * @throws Exception 例外
+     */
+    @Test
+    public void discardPendingOutputs() throws Exception {
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger started = new AtomicInteger();
+        for (int i = 0; i < threads + 5; i++) {
+            OutputWriteComponent.getInstance().submit(context, dir.resolve(i + ".txt"), os -> {
+                started.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                os.write('x');
+            });
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (started.get() < threads && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(threads, started.get());
+
+        Thread discard = new Thread(() -> OutputWriteComponent.getInstance().discard(context));
+        discard.start();
+        Thread.sleep(100);
+        assertTrue(discard.isAlive());
+
+        release.countDown();
+        discard.join(TimeUnit.SECONDS.toMillis(10));
+        assertTrue(context.getPendingOutputs().isEmpty());
+        assertEquals(threads, context.getWrittenCount().get());
+
+        // 取り消した出力は後から実行されない
+        Thread.sleep(100);
+        assertEquals(threads, started.get());
+    }
+
+}
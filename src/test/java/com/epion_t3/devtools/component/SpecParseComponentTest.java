@@ -0,0 +1,182 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.component;
+
+import com.epion_t3.devtools.SyntheticSpecFactory;
+import com.epion_t3.devtools.bean.DevGeneratorContext;
+import com.epion_t3.devtools.bean.ExecuteOptions;
+import com.epion_t3.devtools.exception.GeneratorException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 設計解析コンポーネントの並列解析・ストリーミング解析の試験.
+ *
+ * @author takashno
+ */
+public class SpecParseComponentTest {
+
+    /**
+     * 同時に解析するスレッド数.
+     */
+    private static final int THREADS = 4;
+
+    /**
+     * スレッド毎の解析回数.
+     */
+    private static final int ITERATIONS = 5;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * 並列解析を複数スレッドから繰り返し実行し、全て逐次解析と同じモデルとなることを確認.
+     *
+     * @throws Exception 例外
+     */
+    @Test
+    public void parallelParseEqualsSequentialParse() throws Exception {
+        Path specFile = SyntheticSpecFactory.write(temporaryFolder.getRoot().toPath().resolve("spec.yaml"), 100, 2,
+                3);
+        String expected = parse(specFile, false);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS * ITERATIONS; i++) {
+                futures.add(executor.submit(() -> parse(specFile, true)));
+            }
+            for (Future<String> future : futures) {
+                assertEquals(expected, future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 試験用の設計ファイルをストリーミングで解析し、木として読み込んだ場合と同じモデルとなることを確認.
+     *
+     * @throws Exception 例外
+     */
+    @Test
+    public void streamingParseEqualsTreeParseBasicSpec() throws Exception {
+        Path specFile = Paths.get(getClass().getClassLoader().getResource("et3_basic_spec_config.yaml").toURI());
+        assertEquals(parse(specFile, false), parseStreaming(specFile));
+    }
+
+    /**
+     * 生成した設計ファイルをストリーミングで解析し、木として読み込んだ場合と同じモデルとなることを確認.
+     *
+     * @throws Exception 例外
+     */
+    @Test
+    public void streamingParseEqualsTreeParseSyntheticSpec() throws Exception {
+        Path root = temporaryFolder.getRoot().toPath();
+        for (Path specFile : new Path[] { SyntheticSpecFactory.write(root.resolve("small.yaml"), 10, 1, 1),
+                SyntheticSpecFactory.write(root.resolve("large.yaml"), 100, 3, 3) }) {
+            assertEquals(parse(specFile, false), parseStreaming(specFile));
+        }
+    }
+
+    /**
+     * ストリーミング解析で未定義（null）の要素・配列が無視されることを確認.
+     *
+     * @throws Exception 例外
+     */
+    @Test
+    public void streamingParseSkipsNullElements() throws Exception {
+        Path withNull = write("null.yaml", "messages:\n  - ~\n  - id: m1\n    message:\n      - lang: ja_JP\n"
+                + "        contents: a\n  - ~\nflows: ~\n");
+        Path withoutNull = write("plain.yaml", "messages:\n  - id: m1\n    message:\n      - lang: ja_JP\n"
+                + "        contents: a\n");
+        assertEquals(parse(withoutNull, false), parseStreaming(withNull));
+    }
+
+    /**
+     * ストリーミング解析で配列の要素がオブジェクトでない場合にエラーとなることを確認.
+     *
+     * @throws Exception 例外
+     */
+    @Test(expected = GeneratorException.class)
+    public void streamingParseRejectsScalarElement() throws Exception {
+        parseStreaming(write("scalar.yaml", "messages:\n  - m1\n"));
+    }
+
+    /**
+     * ストリーミング解析で要素が配列でない場合にエラーとなることを確認.
+     *
+     * @throws Exception 例外
+     */
+    @Test(expected = GeneratorException.class)
+    public void streamingParseRejectsScalarSection() throws Exception {
+        parseStreaming(write("section.yaml", "flows: f1\n"));
+    }
+
+    /**
+     * 言語・機能情報に続けて要素を記述した設計ファイルを作成.
+     *
+     * @param name ファイル名
+     * @param sections 要素
+     * @return 設計ファイル
+     * @throws Exception 例外
+     */
+    private Path write(String name, String sections) throws Exception {
+        String spec = "t3: 1.0\nlanguages:\n  - ja_JP\n  - en_US\ninfo:\n  labelName: Test\n  name: test\n"
+                + "  customPackage: com.example.test\n" + sections;
+        return Files.write(temporaryFolder.getRoot().toPath().resolve(name), spec.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 設計ファイルを解析し、Locale毎の機能出力モデルをJSONへ変換.
+     * <p>
+     * Mapの反復順も比較するため、機能出力モデルの内容をそのまま出力する.
+     *
+     * @param specFile 設計ファイル
+     * @param parallelParse 並列で解析するか
+     * @return 機能出力モデルのJSON
+     * @throws Exception 例外
+     */
+    private String parse(Path specFile, boolean parallelParse) throws Exception {
+        return parse(ExecuteOptions.builder().target(specFile.toString()).parallelParse(parallelParse).build());
+    }
+
+    /**
+     * 設計ファイルをストリーミングで解析し、Locale毎の機能出力モデルをJSONへ変換.
+     *
+     * @param specFile 設計ファイル
+     * @return 機能出力モデルのJSON
+     * @throws Exception 例外
+     */
+    private String parseStreaming(Path specFile) throws Exception {
+        return parse(ExecuteOptions.builder().target(specFile.toString()).streamingParse(true).build());
+    }
+
+    /**
+     * 実行オプションに従い設計ファイルを解析し、Locale毎の機能出力モデルをJSONへ変換.
+     *
+     * @param executeOptions 実行オプション
+     * @return 機能出力モデルのJSON
+     * @throws Exception 例外
+     */
+    private String parse(ExecuteOptions executeOptions) throws Exception {
+        DevGeneratorContext context = new DevGeneratorContext();
+        context.setExecuteOptions(executeOptions);
+        SpecParseComponent.getInstance().execute(context);
+        return new ObjectMapper().writeValueAsString(context.getFunctionModels());
+    }
+
+}
@@ -0,0 +1,86 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.component;
+
+import com.epion_t3.devtools.SyntheticSpecFactory;
+import com.epion_t3.devtools.bean.CommandModel;
+import com.epion_t3.devtools.bean.DevGeneratorContext;
+import com.epion_t3.devtools.bean.ExecuteOptions;
+import com.epion_t3.devtools.bean.FunctionModel;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 設計解析結果のメモリ使用量の試験.
+ * <p>
+ * JOLで解析後にコンテキストから参照される設計情報・機能出力モデルの合計サイズを計測する.
+ *
+ * @author takashno
+ */
+public class SpecParseFootprintTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * メモリ使用量を削減した解析結果が、削減しない解析結果より小さくなることを確認.
+     *
+     * @throws Exception 例外
+     */
+    @Test
+    public void compactParseReducesFootprint() throws Exception {
+        Path specFile = SyntheticSpecFactory.write(temporaryFolder.getRoot().toPath().resolve("spec.yaml"), 100, 2,
+                SyntheticSpecFactory.LANGUAGES.size());
+
+        DevGeneratorContext plainContext = parse(specFile, false);
+        DevGeneratorContext context = parse(specFile, true);
+
+        // 設計ファイル全体の木の解放により、コンテキストから参照される合計は半分以下となる
+        long plain = footprint(plainContext.getSpec(), plainContext.getFunctionModels());
+        long compact = footprint(context.getSpec(), context.getFunctionModels());
+        assertTrue("plain:" + plain + ", compact:" + compact, compact * 2 < plain);
+
+        // 文字列の共有、リストの縮小により機能出力モデルのみでも小さくなる
+        long plainModels = footprint((Object) plainContext.getFunctionModels());
+        long compactModels = footprint((Object) context.getFunctionModels());
+        assertTrue("plain:" + plainModels + ", compact:" + compactModels, compactModels < plainModels);
+
+        // 同じ内容の文字列はLocale間・モデル間で同一のインスタンスとなる
+        FunctionModel[] functionModels = context.getFunctionModels();
+        CommandModel first = functionModels[0].getCommand("Command0");
+        CommandModel second = functionModels[0].getCommand("Command1");
+        assertSame(first.getId(), functionModels[functionModels.length - 1].getCommand("Command0").getId());
+        assertSame(first.getStructureDescription().get(0), second.getStructureDescription().get(0));
+    }
+
+    /**
+     * 設計ファイルを解析.
+     *
+     * @param specFile 設計ファイル
+     * @param compact メモリ使用量を削減するか
+     * @return コンテキスト
+     */
+    private DevGeneratorContext parse(Path specFile, boolean compact) {
+        DevGeneratorContext context = new DevGeneratorContext();
+        context.setExecuteOptions(ExecuteOptions.builder().target(specFile.toString()).build());
+        SpecParseComponent.getInstance().execute(context, compact);
+        return context;
+    }
+
+    /**
+     * オブジェクトから参照される全てのオブジェクトの合計サイズを計測.
+     *
+     * @param roots 計測対象
+     * @return 合計サイズ（バイト）
+     */
+    private long footprint(Object... roots) {
+        return GraphLayout.parseInstance(roots).totalSize();
+    }
+
+}
@@ -0,0 +1,180 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.component;
+
+import com.epion_t3.devtools.bean.DevGeneratorContext;
+import com.epion_t3.devtools.bean.ExecuteOptions;
+import com.epion_t3.devtools.exception.GeneratorException;
+import com.github.mustachejava.Mustache;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * テンプレートレジストリの試験.
+ *
+ * @author takashno
+ */
+public class TemplateRegistryTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * ユーザーテンプレートディレクトリ.
+     */
+    private Path dir;
+
+    /**
+     * テンプレートレジストリ.
+     */
+    private TemplateRegistry registry = TemplateRegistry.getInstance();
+
+    @Before
+    public void setUp() {
+        dir = temporaryFolder.getRoot().toPath();
+    }
+
+    /**
+     * Locale完全一致 → 言語 → 既定Locale → Locale無しの順にフォールバックし、
+     * 優先度の高いテンプレートの追加でハッシュ値が変わることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void fallbackChain() throws IOException {
+        String key = "sample@fr_FR";
+
+        write("sample.mustache", "neutral");
+        String neutral = registry.resolveTemplateHash(dir.toString(), key);
+        assertEquals("neutral", render(registry.getTemplate(dir.toString(), "sample", "fr_FR")));
+
+        write("sample-en_US.mustache", "default");
+        String defaultLocale = registry.resolveTemplateHash(dir.toString(), key);
+        assertEquals("default", render(registry.getTemplate(dir.toString(), "sample", "fr_FR")));
+        assertNotEquals(neutral, defaultLocale);
+
+        write("sample-fr.mustache", "language");
+        String language = registry.resolveTemplateHash(dir.toString(), key);
+        assertEquals("language", render(registry.getTemplate(dir.toString(), "sample", "fr_FR")));
+        assertNotEquals(defaultLocale, language);
+
+        write("sample-fr_FR.mustache", "exact");
+        String exact = registry.resolveTemplateHash(dir.toString(), key);
+        assertEquals("exact", render(registry.getTemplate(dir.toString(), "sample", "fr_FR")));
+        assertNotEquals(language, exact);
+
+        // 他のLocaleは引き続きフォールバック先を利用する
+        assertEquals("default", render(registry.getTemplate(dir.toString(), "sample", "de_DE")));
+    }
+
+    /**
+     * クラスパス上の既定Localeのテンプレートへフォールバックすることを確認.
+     */
+    @Test
+    public void fallbackToClasspathDefaultLocale() {
+        String hash = registry.resolveTemplateHash(null, "function@fr_FR");
+        assertNotNull(hash);
+        assertEquals(registry.resolveTemplateHash(null, "function@en_US"), hash);
+        assertNotEquals(registry.resolveTemplateHash(null, "function@ja_JP"), hash);
+    }
+
+    /**
+     * テンプレートが見つからない場合の確認.
+     */
+    @Test(expected = GeneratorException.class)
+    public void templateNotFound() {
+        assertNull(registry.resolveTemplateHash(dir.toString(), "missing@ja_JP"));
+        registry.getTemplate(dir.toString(), "missing", "ja_JP");
+    }
+
+    /**
+     * ユーザーテンプレートが同名の同梱テンプレートより優先されることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void userTemplateShadowsBundledTemplate() throws IOException {
+        write("function-ja_JP.mustache", "user {{name}}");
+
+        assertEquals("user ", render(registry.getTemplate(dir.toString(), "function", "ja_JP")));
+        assertNotEquals(registry.resolveTemplateHash(null, "function@ja_JP"),
+                registry.resolveTemplateHash(dir.toString(), "function@ja_JP"));
+    }
+
+    /**
+     * ユーザーテンプレートの更新日時が変わった場合に再コンパイルされることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void recompileWhenModified() throws IOException {
+        Path template = write("modified.mustache", "before");
+        FileTime lastModified = FileTime.fromMillis(1_000_000_000_000L);
+        Files.setLastModifiedTime(template, lastModified);
+        assertEquals("before", render(registry.getTemplate(dir.toString(), "modified", "ja_JP")));
+
+        write("modified.mustache", "after");
+        Files.setLastModifiedTime(template, FileTime.fromMillis(lastModified.toMillis() + 2000L));
+        assertEquals("after", render(registry.getTemplate(dir.toString(), "modified", "ja_JP")));
+    }
+
+    /**
+     * 取得したテンプレートのハッシュ値がコンテキストへ記録されることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void recordTemplateHashes() throws IOException {
+        write("sample.mustache", "neutral");
+        DevGeneratorContext context = new DevGeneratorContext();
+        context.setExecuteOptions(ExecuteOptions.builder().templateDir(dir.toString()).build());
+
+        registry.getTemplate(context, "sample", "ja_JP");
+        registry.getTemplate(context, "messages-lookup.mustache");
+
+        assertEquals(registry.resolveTemplateHash(dir.toString(), "sample@ja_JP"),
+                context.getTemplateHashes().get("sample@ja_JP"));
+        assertEquals(registry.resolveTemplateHash(null, "messages-lookup.mustache"),
+                context.getTemplateHashes().get("messages-lookup.mustache"));
+        assertEquals(2, context.getTemplateHashes().size());
+    }
+
+    /**
+     * テンプレートを書き込み.
+     *
+     * @param name テンプレート名
+     * @param content 内容
+     * @return テンプレートのパス
+     * @throws IOException I/O例外
+     */
+    private Path write(String name, String content) throws IOException {
+        return Files.write(dir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * テンプレートをレンダリング.
+     *
+     * @param template テンプレート
+     * @return レンダリング結果
+     */
+    private String render(Mustache template) {
+        StringWriter writer = new StringWriter();
+        template.execute(writer, Collections.emptyMap());
+        return writer.toString();
+    }
+
+}
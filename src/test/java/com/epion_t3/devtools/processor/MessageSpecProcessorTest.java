@@ -0,0 +1,157 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.processor;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * メッセージ定義生成のアノテーションプロセッサの試験.
+ * <p>
+ * プロセッサを指定してjavacを実行し、生成したソースがそのままコンパイルできることを確認する.
+ *
+ * @author takashno
+ */
+public class MessageSpecProcessorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * 設計ファイル.
+     */
+    private Path specFile;
+
+    /**
+     * ソースの出力先.
+     */
+    private Path sourceOutput;
+
+    /**
+     * クラスの出力先.
+     */
+    private Path classOutput;
+
+    @Before
+    public void setUp() throws Exception {
+        specFile = Paths.get(getClass().getClassLoader().getResource("et3_basic_spec_config.yaml").toURI());
+        sourceOutput = temporaryFolder.newFolder("generated").toPath();
+        classOutput = temporaryFolder.newFolder("classes").toPath();
+    }
+
+    /**
+     * Enum・索引クラス・messages.properties・コンパイル済リソースバンドルが生成されることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void generateMessages() throws IOException {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        boolean success = compile("@com.epion_t3.devtools.annotation.MessageSpec(value = \"" + specFile.getFileName()
+                + "\", resourceBundle = true)\npackage sample;\n",
+                Collections.singletonList("-A" + MessageSpecProcessor.SPEC_DIR_OPTION + "=" + specFile.getParent()),
+                diagnostics);
+        assertTrue(diagnostics.getDiagnostics().toString(), success);
+
+        Path packageDir = Paths.get("com", "epion_t3", "basic", "messages");
+        assertEquals(Arrays.asList("BasicMessages.java", "BasicMessagesBundle_ja_JP.java", "BasicMessagesLookup.java"),
+                list(sourceOutput.resolve(packageDir)));
+        assertTrue(Files.exists(classOutput.resolve(packageDir).resolve("BasicMessages.class")));
+        assertTrue(Files.exists(classOutput.resolve(packageDir).resolve("BasicMessagesLookup.class")));
+
+        // コンパイル済リソースバンドルはEnumと同じパッケージへ生成される
+        assertTrue(Files.exists(sourceOutput.resolve(packageDir).resolve("BasicMessagesBundle_ja_JP.java")));
+        assertTrue(Files.exists(classOutput.resolve(packageDir).resolve("BasicMessagesBundle_ja_JP.class")));
+
+        Properties properties = new Properties();
+        try (InputStream is = Files.newInputStream(classOutput.resolve("basic_messages_ja_JP.properties"))) {
+            properties.load(is);
+        }
+        assertEquals("参照する変数のスコープが不正です.スコープ:{0}", properties.getProperty("com.epion_t3.basic.err.9001"));
+    }
+
+    /**
+     * 設計ファイルが存在しない場合にコンパイルエラーとなることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void reportMissingSpec() throws IOException {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        boolean success = compile("@com.epion_t3.devtools.annotation.MessageSpec(\""
+                + specFile.resolveSibling("missing.yaml").toString().replace("\\", "/") + "\")\npackage sample;\n",
+                Collections.emptyList(), diagnostics);
+        assertFalse(success);
+        assertTrue(diagnostics.getDiagnostics()
+                .stream()
+                .anyMatch(x -> x.getKind() == Diagnostic.Kind.ERROR
+                        && x.getMessage(null).startsWith("fail generate messages.")));
+    }
+
+    /**
+     * package-info.javaをプロセッサを指定してコンパイル.
+     *
+     * @param packageInfo package-info.javaの内容
+     * @param processorOptions プロセッサオプション
+     * @param diagnostics 診断情報の出力先
+     * @return コンパイルに成功した場合true
+     * @throws IOException I/O例外
+     */
+    private boolean compile(String packageInfo, List<String> processorOptions,
+            DiagnosticCollector<JavaFileObject> diagnostics) throws IOException {
+        Path source = temporaryFolder.newFolder("src", "sample").toPath().resolve("package-info.java");
+        Files.write(source, packageInfo.getBytes(StandardCharsets.UTF_8));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null,
+                StandardCharsets.UTF_8)) {
+            List<String> options = new ArrayList<>(Arrays.asList("-encoding", "UTF-8", "-classpath",
+                    System.getProperty("java.class.path"), "-s", sourceOutput.toString(), "-d",
+                    classOutput.toString()));
+            options.addAll(processorOptions);
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+                    fileManager.getJavaFileObjects(source.toFile()));
+            task.setProcessors(Collections.singletonList(new MessageSpecProcessor()));
+            return task.call();
+        }
+    }
+
+    /**
+     * ディレクトリ配下のファイル名を名前順に取得.
+     *
+     * @param dir ディレクトリ
+     * @return ファイル名
+     * @throws IOException I/O例外
+     */
+    private List<String> list(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(x -> x.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.util;
+
+import com.epion_t3.devtools.SyntheticSpecFactory;
+import com.epion_t3.devtools.app.DevGeneratorEngine;
+import com.epion_t3.devtools.bean.DevGeneratorContext;
+import com.epion_t3.devtools.bean.ExecuteOptions;
+import com.epion_t3.devtools.bean.GenerateResult;
+import com.epion_t3.devtools.bean.PhaseMetrics;
+import com.epion_t3.devtools.bean.SpecMetrics;
+import com.epion_t3.devtools.util.MetricsUtils.Measurement;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * 計測ユーティリティの試験.
+ *
+ * @author takashno
+ */
+public class MetricsUtilsTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * 他のスレッドで実行したフェーズの処理の割り当てメモリが、計測回数を増やさずにフェーズへ合算されることを確認.
+     *
+     * @throws InterruptedException 割り込み
+     */
+    @Test
+    public void sumWorkerThreads() throws InterruptedException {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()
+                && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemoryEnabled());
+
+        DevGeneratorContext context = new DevGeneratorContext();
+        context.setMetrics(new SpecMetrics());
+        int size = 8 * 1024 * 1024;
+        byte[][] allocated = new byte[1][];
+        try (Measurement m = MetricsUtils.start(context, "test")) {
+            Thread worker = new Thread(() -> {
+                try (Measurement w = m.worker()) {
+                    allocated[0] = new byte[size];
+                }
+            });
+            worker.start();
+            worker.join();
+        }
+
+        PhaseMetrics phase = context.getMetrics().getPhase("test");
+        assertEquals(size, allocated[0].length);
+        assertEquals(1, phase.getCount());
+        assertTrue(String.valueOf(phase.getAllocatedBytes()), phase.getAllocatedBytes() >= size);
+    }
+
+    /**
+     * 並列に生成した場合の計測レポートを出力し、JSONとして読み込めることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void writeReport() throws IOException {
+        Path root = temporaryFolder.getRoot().toPath();
+        Path specFile = SyntheticSpecFactory.write(root.resolve("spec.yaml"), 64, 1, 3);
+        Path report = root.resolve("metrics").resolve("report.json");
+        GenerateResult result = DevGeneratorEngine.getInstance()
+                .generate(ExecuteOptions.builder()
+                        .target(specFile.toString())
+                        .messageOutput(root.resolve("resources").toString())
+                        .javaOutput(root.resolve("java").toString() + "/")
+                        .docOutput(root.resolve("doc").toString())
+                        .parallelParse(true)
+                        .localeParallelism(3)
+                        .metricsOutput(report.toString())
+                        .build());
+        assertTrue(String.valueOf(result.getError()), result.isSuccess());
+
+        MetricsUtils.writeReport(report, Collections.singletonList(result.getMetrics()));
+
+        JsonNode json = new ObjectMapper().readTree(report.toFile());
+        assertTrue(json.get("total").get("success").asBoolean());
+        assertEquals(1, json.get("specs").size());
+        JsonNode spec = json.get("specs").get(0);
+        assertEquals(specFile.toString(), spec.get("target").asText());
+        assertEquals(3, spec.get("entities").get("languages").asInt());
+        assertEquals(256, spec.get("entities").get("messages").asInt());
+        for (String name : new String[] { "parse.messages", "message.locale", "message.properties", "message.enum",
+                "document.locale", "document.render", "output.write" }) {
+            JsonNode phase = spec.get("phases").get(name);
+            assertTrue(name, phase != null);
+            assertTrue(name, phase.get("count").asLong() >= 1);
+            assertTrue(name, phase.get("wallNanos").asLong() > 0);
+            assertEquals(name, phase, json.get("total").get("phases").get(name));
+        }
+        assertEquals(1, spec.get("phases").get("message.enum").get("count").asLong());
+        assertEquals(1, spec.get("phases").get("document.locale").get("count").asLong());
+        assertEquals(3, spec.get("phases").get("message.properties").get("count").asLong());
+    }
+
+}
@@ -0,0 +1,137 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.util;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * 出力ファイルの書き込みユーティリティの試験.
+ *
+ * @author takashno
+ */
+public class OutputFileUtilsTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * 作業ディレクトリ.
+     */
+    private Path dir;
+
+    @Before
+    public void setUp() {
+        dir = temporaryFolder.getRoot().toPath();
+    }
+
+    /**
+     * 内容が同一の場合は書き込まず、更新日時が維持されることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void unchangedContentKeepsLastModified() throws IOException {
+        Path target = dir.resolve("messages.properties");
+        Files.write(target, bytes("a=1\n"));
+        FileTime lastModified = FileTime.fromMillis(1_000_000_000_000L);
+        Files.setLastModifiedTime(target, lastModified);
+
+        assertFalse(OutputFileUtils.writeIfChanged(target, os -> os.write(bytes("a=1\n"))));
+
+        assertEquals(lastModified, Files.getLastModifiedTime(target));
+        assertNoTempFile();
+    }
+
+    /**
+     * 内容が異なる場合は置き換えられることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void changedContentIsReplaced() throws IOException {
+        Path target = dir.resolve("sub/messages.properties");
+
+        assertTrue(OutputFileUtils.writeIfChanged(target, os -> os.write(bytes("a=1\n"))));
+        assertTrue(OutputFileUtils.writeIfChanged(target, os -> os.write(bytes("a=2\n"))));
+
+        assertArrayEquals(bytes("a=2\n"), Files.readAllBytes(target));
+        assertNoTempFile();
+    }
+
+    /**
+     * 新規ファイルが通常のファイル作成と同じ権限（umask）で作成されることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void newFileFollowsDefaultPermissions() throws IOException {
+        assumePosix();
+        Path reference = Files.write(dir.resolve("reference.md"), bytes("reference"));
+        Path target = dir.resolve("document.md");
+
+        OutputFileUtils.writeIfChanged(target, os -> os.write(bytes("document")));
+
+        assertEquals(Files.getPosixFilePermissions(reference), Files.getPosixFilePermissions(target));
+    }
+
+    /**
+     * 既存ファイルを置き換えた場合に権限が引き継がれることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void replacedFileKeepsPermissions() throws IOException {
+        assumePosix();
+        Path target = Files.write(dir.resolve("Messages.java"), bytes("old"));
+        Files.setPosixFilePermissions(target, PosixFilePermissions.fromString("rw-rw-r--"));
+
+        assertTrue(OutputFileUtils.writeIfChanged(target, os -> os.write(bytes("new"))));
+
+        assertEquals(PosixFilePermissions.fromString("rw-rw-r--"), Files.getPosixFilePermissions(target));
+    }
+
+    /**
+     * 一時ファイルが残っていないことを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    private void assertNoTempFile() throws IOException {
+        try (Stream<Path> stream = Files.walk(dir)) {
+            assertFalse(stream.anyMatch(x -> x.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    /**
+     * POSIXの権限に対応するファイルシステムでのみ実行する.
+     */
+    private void assumePosix() {
+        assumeTrue(dir.getFileSystem().supportedFileAttributeViews().contains("posix"));
+    }
+
+    /**
+     * 文字列をUTF-8のバイト列へ変換.
+     *
+     * @param value 文字列
+     * @return バイト列
+     */
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,225 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.util;
+
+import com.epion_t3.devtools.SyntheticSpecFactory;
+import com.epion_t3.devtools.app.DevGeneratorEngine;
+import com.epion_t3.devtools.bean.ExecuteOptions;
+import com.epion_t3.devtools.bean.GenerateResult;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * セクション毎のフィンガープリントによる出力毎の再生成判定の試験.
+ * <p>
+ * 設計ファイルの1つのセクションを変更し、そのセクションに依存する出力のみが再生成されることを確認する.
+ * 再生成を省略した出力も生成結果の出力ファイルに含まれるため、生成前に全ての出力ファイルを目印の内容で上書きし、
+ * 生成後に目印が残っていない出力ファイルを再生成されたものとする.
+ *
+ * @author takashno
+ */
+public class SectionFingerprintUtilsTest {
+
+    /**
+     * messages.properties（en_US）.
+     */
+    private static final String PROPERTIES_EN = "synthetic_messages_en_US.properties";
+
+    /**
+     * messages.properties（ja_JP）.
+     */
+    private static final String PROPERTIES_JA = "synthetic_messages_ja_JP.properties";
+
+    /**
+     * コンパイル済リソースバンドル（en_US）.
+     */
+    private static final String BUNDLE_EN = "SyntheticMessagesBundle_en_US.java";
+
+    /**
+     * コンパイル済リソースバンドル（ja_JP）.
+     */
+    private static final String BUNDLE_JA = "SyntheticMessagesBundle_ja_JP.java";
+
+    /**
+     * Messages.java.
+     */
+    private static final String ENUM = "SyntheticMessages.java";
+
+    /**
+     * 索引クラス.
+     */
+    private static final String LOOKUP = "SyntheticMessagesLookup.java";
+
+    /**
+     * 機能ドキュメント（en_US）.
+     */
+    private static final String DOCUMENT_EN = "synthetic_spec_en_US.md";
+
+    /**
+     * 機能ドキュメント（ja_JP）.
+     */
+    private static final String DOCUMENT_JA = "synthetic_spec_ja_JP.md";
+
+    /**
+     * 再生成されていない出力ファイルの目印.
+     */
+    private static final String MARKER = "not regenerated";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * 設計ファイル.
+     */
+    private Path specFile;
+
+    /**
+     * 出力ファイルの名前とパスの対応.
+     */
+    private Map<String, Path> outputs;
+
+    @Before
+    public void setUp() throws IOException {
+        Path root = temporaryFolder.getRoot().toPath();
+        specFile = SyntheticSpecFactory.write(root.resolve("spec.yaml"), 4, 1, 2);
+        Path enumDir = root.resolve("java").resolve("com/epion_t3/synthetic/messages");
+        outputs = new TreeMap<>();
+        for (String name : Arrays.asList(PROPERTIES_EN, PROPERTIES_JA)) {
+            outputs.put(name, root.resolve("resources").resolve(name));
+        }
+        for (String name : Arrays.asList(BUNDLE_EN, BUNDLE_JA, ENUM, LOOKUP)) {
+            outputs.put(name, enumDir.resolve(name));
+        }
+        for (String name : Arrays.asList(DOCUMENT_EN, DOCUMENT_JA)) {
+            outputs.put(name, root.resolve("doc").resolve(name));
+        }
+        assertEquals(outputs.keySet(), generate());
+    }
+
+    /**
+     * Flowを変更した場合は、そのLocaleのドキュメントのみが再生成されることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void flowChanged() throws IOException {
+        edit("en_US Flow 0 summary", "en_US Flow 0 changed");
+        assertEquals(set(DOCUMENT_EN), generate());
+    }
+
+    /**
+     * 機能情報を変更した場合は、そのLocaleのリソースバンドル・ドキュメントと、主LocaleであればEnumが再生成されることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void infoChanged() throws IOException {
+        edit("ja_JP Synthetic function summary", "ja_JP Synthetic function changed");
+        assertEquals(set(BUNDLE_JA, ENUM, LOOKUP, DOCUMENT_JA), generate());
+
+        // 主Locale以外の機能情報はEnumに影響しない
+        edit("en_US Synthetic function summary", "en_US Synthetic function changed");
+        assertEquals(set(BUNDLE_EN, DOCUMENT_EN), generate());
+    }
+
+    /**
+     * 主Locale以外のメッセージを変更した場合は、そのLocaleのmessages.properties・リソースバンドル・ドキュメントのみが
+     * 再生成され、Enumは再生成されないことを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void messageChanged() throws IOException {
+        edit("en_US Synthetic message 1 : {0}", "en_US Synthetic message 1 changed : {0}");
+        assertEquals(set(PROPERTIES_EN, BUNDLE_EN, DOCUMENT_EN), generate());
+
+        // 主LocaleのメッセージはEnumのJavaDocに利用される
+        edit("ja_JP Synthetic message 1 : {0}", "ja_JP Synthetic message 1 changed : {0}");
+        assertEquals(set(PROPERTIES_JA, BUNDLE_JA, ENUM, LOOKUP, DOCUMENT_JA), generate());
+    }
+
+    /**
+     * フィンガープリントが一致していても、出力ファイルが存在しない場合はその出力が再生成されることを確認.
+     *
+     * @throws IOException I/O例外
+     */
+    @Test
+    public void missingOutput() throws IOException {
+        Files.delete(outputs.get(PROPERTIES_EN));
+        Files.delete(outputs.get(LOOKUP));
+
+        // Enumと索引クラスは同じ出力の単位として再生成される
+        assertEquals(set(PROPERTIES_EN, ENUM, LOOKUP), generate());
+    }
+
+    /**
+     * 全ての出力ファイルを目印の内容で上書きして生成し、再生成された出力ファイルの名前を取得.
+     * <p>
+     * 削除されている出力ファイルは上書きしない.
+     *
+     * @return 再生成された出力ファイルの名前
+     * @throws IOException I/O例外
+     */
+    private Set<String> generate() throws IOException {
+        for (Path output : outputs.values()) {
+            if (Files.exists(output)) {
+                Files.write(output, MARKER.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        Path root = temporaryFolder.getRoot().toPath();
+        GenerateResult result = DevGeneratorEngine.getInstance()
+                .generate(ExecuteOptions.builder()
+                        .target(specFile.toString())
+                        .messageOutput(root.resolve("resources").toString())
+                        .javaOutput(root.resolve("java").toString() + "/")
+                        .docOutput(root.resolve("doc").toString())
+                        .resourceBundle(true)
+                        .build());
+        assertTrue(String.valueOf(result.getError()), result.isSuccess());
+        Set<String> regenerated = new TreeSet<>();
+        for (Map.Entry<String, Path> output : outputs.entrySet()) {
+            if (!MARKER.equals(new String(Files.readAllBytes(output.getValue()), StandardCharsets.UTF_8))) {
+                regenerated.add(output.getKey());
+            }
+        }
+        return regenerated;
+    }
+
+    /**
+     * 設計ファイルの内容を置き換え.
+     *
+     * @param target 置き換える文字列
+     * @param replacement 置き換え後の文字列
+     * @throws IOException I/O例外
+     */
+    private void edit(String target, String replacement) throws IOException {
+        String spec = new String(Files.readAllBytes(specFile), StandardCharsets.UTF_8);
+        assertTrue(target, spec.contains(target));
+        Files.write(specFile, spec.replace(target, replacement).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * ファイル名の集合を作成.
+     *
+     * @param fileNames ファイル名
+     * @return ファイル名の集合
+     */
+    private Set<String> set(String... fileNames) {
+        return new TreeSet<>(Arrays.asList(fileNames));
+    }
+
+}
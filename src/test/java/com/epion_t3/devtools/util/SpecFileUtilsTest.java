@@ -0,0 +1,103 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.util;
+
+import com.epion_t3.devtools.exception.GeneratorException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 設計ファイルの解決ユーティリティの試験.
+ *
+ * @author takashno
+ */
+public class SpecFileUtilsTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * 作業ディレクトリ.
+     */
+    private Path root;
+
+    /**
+     * 以下の構成を作成.
+     *
+     * <pre>
+     * a/spec/a.yaml
+     * a/spec/readme.txt
+     * b/spec/b.yml
+     * b/other/c.yaml
+     * </pre>
+     *
+     * @throws IOException I/O例外
+     */
+    @Before
+    public void setUp() throws IOException {
+        root = temporaryFolder.getRoot().toPath().toRealPath();
+        for (String path : Arrays.asList("a/spec/a.yaml", "a/spec/readme.txt", "b/spec/b.yml", "b/other/c.yaml")) {
+            Path file = root.resolve(path);
+            Files.createDirectories(file.getParent());
+            Files.write(file, new byte[0]);
+        }
+    }
+
+    @Test
+    public void resolveDirectory() {
+        assertEquals(paths("a/spec/a.yaml", "b/other/c.yaml", "b/spec/b.yml"),
+                SpecFileUtils.resolve(root.toString()));
+    }
+
+    @Test
+    public void resolveGlob() {
+        assertEquals(paths("a/spec/a.yaml", "b/spec/b.yml"),
+                SpecFileUtils.resolve(root.toString() + "/*/spec/*.{yaml,yml}"));
+        assertEquals(paths("b/other/c.yaml"), SpecFileUtils.resolve(root.toString() + "/**/c.yaml"));
+    }
+
+    @Test
+    public void resolveSpecFile() {
+        assertEquals(paths("a/spec/a.yaml"), SpecFileUtils.resolve(root.resolve("a/spec/a.yaml").toString()));
+    }
+
+    @Test
+    public void resolveListFile() throws IOException {
+        Path listFile = root.resolve("b/specs.txt");
+        Files.write(listFile, Arrays.asList("# comment", "", "  spec/b.yml  ", "../a/spec/a.yaml"),
+                StandardCharsets.UTF_8);
+        assertEquals(paths("b/spec/b.yml", "a/spec/a.yaml"), SpecFileUtils.resolve(listFile.toString()));
+    }
+
+    @Test(expected = GeneratorException.class)
+    public void resolveNotFound() {
+        SpecFileUtils.resolve(root.resolve("none").toString());
+    }
+
+    @Test(expected = GeneratorException.class)
+    public void resolveGlobBaseNotFound() {
+        SpecFileUtils.resolve(root.resolve("none").toString() + "/*.yaml");
+    }
+
+    /**
+     * 作業ディレクトリからの相対パスを絶対パスへ変換.
+     *
+     * @param paths 相対パス
+     * @return 絶対パス
+     */
+    private List<Path> paths(String... paths) {
+        return Arrays.stream(paths).map(root::resolve).collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,144 @@
+/* Copyright (c) 2017-2020 Nozomu Takashima. */
+package com.epion_t3.devtools.util;
+
+import com.epion_t3.core.common.bean.spec.Content;
+import com.epion_t3.core.common.bean.spec.Structure;
+import com.epion_t3.devtools.bean.LocaleIndex;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * 構成例の作成ユーティリティの試験.
+ * <p>
+ * 期待値は単一パス化する前の実装（Localeおよび構成毎に木を走査していた実装）の出力.
+ *
+ * @author takashno
+ */
+public class StructureYamlUtilsTest {
+
+    /**
+     * 対象Locale.
+     */
+    private static final LocaleIndex LOCALE_INDEX = new LocaleIndex(Arrays.asList("ja_JP", "en_US"));
+
+    /**
+     * 最上位に複数の構成を持ち、OBJECT・ARRAYが入れ子になった構成の確認.
+     * <p>
+     * 同一Localeの概要が複数ある場合は連結し、対象外のLocaleの概要とARRAY配下のプロパティは出力しない.
+     */
+    @Test
+    public void renderNestedStructures() {
+        List<Structure> structures = Arrays.asList(
+                structure("id", "string", Arrays.asList(content("ja_JP", "ID"), content("en_US", "Identifier"))),
+                structure("target", "object",
+                        Arrays.asList(content("ja_JP", "対象"), content("en_US", "Target\\s"),
+                                content("fr_FR", "Cible")),
+                        structure("path", "string",
+                                Arrays.asList(content("ja_JP", "パス"), content("en_US", "Path"),
+                                        content("ja_JP", "（必須）"))),
+                        structure("options", "object", Arrays.asList(content("en_US", "Options")),
+                                structure("depth", "number",
+                                        Arrays.asList(content("ja_JP", "深さ"), content("en_US", "Depth")))),
+                        structure("items", "array", Arrays.asList(content("ja_JP", "項目"), content("en_US", "Items")),
+                                structure("ignored", "string", Arrays.asList(content("ja_JP", "無視"))))),
+                structure("mode", "object", Arrays.asList(content("ja_JP", "モード"))),
+                structure("flag", "boolean", new ArrayList<>()));
+
+        assertArrayEquals(new String[] {
+                "commands : \n"
+                        + "  - id: ID\n"
+                        + "    target: 対象\n"
+                        + "      path: パス（必須）\n"
+                        + "      options: \n"
+                        + "        depth: 深さ\n"
+                        + "      items: 項目\n"
+                        + "    mode: モード\n"
+                        + "    flag: \n",
+                "commands : \n"
+                        + "  - id: Identifier\n"
+                        + "    target: Targets\n"
+                        + "      path: Path\n"
+                        + "      options: Options\n"
+                        + "        depth: Depth\n"
+                        + "      items: Items\n"
+                        + "    mode: \n"
+                        + "    flag: \n" },
+                StructureYamlUtils.render(structures, LOCALE_INDEX));
+    }
+
+    /**
+     * 最上位の先頭の構成がOBJECTの場合の確認.
+     */
+    @Test
+    public void renderFirstStructureObject() {
+        List<Structure> structures = Arrays.asList(
+                structure("command", "object", Arrays.asList(content("ja_JP", "コマンド")),
+                        structure("id", "string", Arrays.asList(content("ja_JP", "ID"))),
+                        structure("nested", "object", Arrays.asList(content("en_US", "Nested")),
+                                structure("value", "string", Arrays.asList(content("ja_JP", "値"))))),
+                structure("list", "array", Arrays.asList(content("ja_JP", "一覧"))));
+
+        assertArrayEquals(new String[] {
+                "commands : \n"
+                        + "  - command: コマンド\n"
+                        + "      id: ID\n"
+                        + "      nested: \n"
+                        + "        value: 値\n"
+                        + "    list: 一覧\n",
+                "commands : \n"
+                        + "  - command: \n"
+                        + "      id: \n"
+                        + "      nested: Nested\n"
+                        + "        value: \n"
+                        + "    list: \n" },
+                StructureYamlUtils.render(structures, LOCALE_INDEX));
+    }
+
+    /**
+     * 構成が空の場合の確認.
+     */
+    @Test
+    public void renderEmptyStructures() {
+        assertArrayEquals(new String[] { "commands : \n  - ", "commands : \n  - " },
+                StructureYamlUtils.render(Collections.emptyList(), LOCALE_INDEX));
+    }
+
+    /**
+     * 構成を作成.
+     *
+     * @param name 名前
+     * @param type 型
+     * @param summary 概要
+     * @param properties 配下のプロパティ
+     * @return 構成
+     */
+    private Structure structure(String name, String type, List<Content> summary, Structure... properties) {
+        Structure structure = new Structure();
+        structure.setName(name);
+        structure.setType(type);
+        structure.setSummary(summary);
+        structure.setProperty(properties.length == 0 ? null : Arrays.asList(properties));
+        return structure;
+    }
+
+    /**
+     * 概要を作成.
+     *
+     * @param lang Locale文字列
+     * @param contents 内容
+     * @return 概要
+     */
+    private Content content(String lang, String contents) {
+        Content content = new Content();
+        content.setLang(lang);
+        content.setContents(contents);
+        return content;
+    }
+
+}